@@ -0,0 +1,195 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A* search that uses the straight line distance between vertex positions as
+ * its heuristic. the distance is multiplied by the smallest weight per unit of
+ * length over all edges, so the heuristic never overestimates the remaining
+ * weight and every vertex is settled at most once
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class AStarSearch {
+
+	private IndexedGraphSource graph;
+	private IndexedGraph view; // id-based view of the graph for the current run
+	private double[] distTo = new double[0]; // distTo[v] = weight of the best known s-v path
+	private int[] edgeTo = new int[0]; // edgeTo[v] = previous vertex on that path
+	private boolean[] settled = new boolean[0]; // settled[v] = distTo[v] is final
+	private IndexDaryMinPQ pq = new IndexDaryMinPQ(DijkstraAdapter.DEFAULT_HEAP_ARITY, 0);
+	private int settledCount; // vertices settled by the last heuristic run
+	private int dijkstraSettledCount; // vertices settled by the last comparison run
+
+	/**
+	 * constructor for class AStarSearch
+	 * 
+	 * @param graph the graph to search
+	 */
+	public AStarSearch(IndexedGraphSource graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * finds the shortest weighted path between two vertices
+	 * 
+	 * @param start start vertex
+	 * @param end   end vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> findShortestPath(Vertex start, Vertex end) {
+		return findShortestPath(start.getId(), end.getId());
+	}
+
+	/**
+	 * like {@link #findShortestPath(Vertex, Vertex)} for vertex ids, so a caller
+	 * on another thread can read the ids before the search starts
+	 * 
+	 * @param s id of the start vertex
+	 * @param t id of the end vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> findShortestPath(int s, int t) {
+		settledCount = search(s, t, heuristicScale());
+		return buildPath(s, t);
+	}
+
+	/**
+	 * runs the same search with a zero heuristic, which is plain Dijkstra stopping
+	 * at the end vertex, and records how many vertices it settled
+	 * 
+	 * @param start start vertex
+	 * @param end   end vertex
+	 * @return the number of vertices Dijkstra settled
+	 */
+	public int compareWithDijkstra(Vertex start, Vertex end) {
+		return compareWithDijkstra(start.getId(), end.getId());
+	}
+
+	/**
+	 * like {@link #compareWithDijkstra(Vertex, Vertex)} for vertex ids
+	 * 
+	 * @param s id of the start vertex
+	 * @param t id of the end vertex
+	 * @return the number of vertices Dijkstra settled
+	 */
+	public int compareWithDijkstra(int s, int t) {
+		dijkstraSettledCount = search(s, t, 0);
+		return dijkstraSettledCount;
+	}
+
+	/**
+	 * returns how many vertices the last A* run settled
+	 * 
+	 * @return the settled count
+	 */
+	public int getSettledCount() {
+		return settledCount;
+	}
+
+	/**
+	 * returns how many vertices the last compareWithDijkstra run settled
+	 * 
+	 * @return the settled count
+	 */
+	public int getDijkstraSettledCount() {
+		return dijkstraSettledCount;
+	}
+
+	/**
+	 * weight of the path found by the last run
+	 * 
+	 * @param end the end vertex of that run
+	 * @return the path weight, or infinity if no path exists
+	 */
+	public double getPathDistance(Vertex end) {
+		return getPathDistance(end.getId());
+	}
+
+	/**
+	 * like {@link #getPathDistance(Vertex)} for the id of the end vertex
+	 * 
+	 * @param t id of the end vertex of the last run
+	 * @return the path weight, or infinity if no path exists
+	 */
+	public double getPathDistance(int t) {
+		return distTo[t];
+	}
+
+	// settle vertices in order of distance plus heuristic until t is settled
+	private int search(int s, int t, double h) {
+		view = graph.getIndexedView();
+		int n = view.V();
+		if (distTo.length < n) {
+			distTo = new double[n];
+			edgeTo = new int[n];
+			settled = new boolean[n];
+		}
+		Arrays.fill(distTo, 0, n, Double.POSITIVE_INFINITY);
+		Arrays.fill(settled, 0, n, false);
+		pq.reset(n);
+
+		int tx = view.x(t);
+		int ty = view.y(t);
+		int count = 0;
+
+		distTo[s] = 0;
+		pq.insert(s, h * Math.hypot(view.x(s) - tx, view.y(s) - ty));
+
+		while (!pq.isEmpty()) {
+			if ((++count & 1023) == 0) {
+				AlgorithmRunner.checkCancelled();
+			}
+			int v = pq.delMin();
+			settled[v] = true;
+			if (v == t) {
+				break;
+			}
+
+			for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+				int w = view.target(e);
+				double nd = distTo[v] + view.weight(e);
+				if (!settled[w] && nd < distTo[w]) {
+					distTo[w] = nd;
+					edgeTo[w] = v;
+					double f = nd + h * Math.hypot(view.x(w) - tx, view.y(w) - ty);
+					if (pq.contains(w)) {
+						pq.decreaseKey(w, f);
+					} else {
+						pq.insert(w, f);
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	// smallest weight / length ratio over all edges of the current view, zero if
+	// some edge is cheaper than its length allows, e.g. a zero or negative weight.
+	// the view keeps the ratio, so a new engine on the same view does not scan
+	// the edges again
+	private double heuristicScale() {
+		double min = graph.getIndexedView().minWeightPerLength();
+
+		// shave the scale a little so rounding in hypot can not push the
+		// heuristic past the true remaining weight
+		return (min == Double.POSITIVE_INFINITY || min < 0) ? 0 : min * (1 - 1e-9);
+	}
+
+	private List<Vertex> buildPath(int s, int t) {
+		if (!settled[t]) {
+			return null;
+		}
+
+		List<Vertex> path = new ArrayList<>();
+		for (int v = t; v != s; v = edgeTo[v]) {
+			path.add(view.vertex(v));
+		}
+		path.add(view.vertex(s));
+		Collections.reverse(path);
+		return path;
+	}
+}
@@ -0,0 +1,115 @@
+package graphVisualizer;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingWorker;
+
+/**
+ * runs algorithms away from the event dispatch thread so the window stays
+ * responsive during a long search. runs go through a single background thread,
+ * so at most one is running and the engines of two runs never compete for the
+ * processor. starting a run cancels the one before it
+ *
+ * a run should work on an {@link IndexedGraph} taken on the event dispatch
+ * thread before it starts, since the graph itself may be edited meanwhile.
+ * cancelling interrupts the thread, and the engines stop at their next call to
+ * {@link #checkCancelled()}
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class AlgorithmRunner {
+
+	private final ExecutorService executor;
+	private SwingWorker<?, ?> current; // the last run started, touched only on the event dispatch thread
+
+	/**
+	 * constructor that starts the background thread, it does not keep the
+	 * program from exiting
+	 */
+	public AlgorithmRunner() {
+		executor = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "algorithm-runner");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * starts a run on the background thread, cancelling the one before it. the
+	 * worker publishes its results through its own done and process methods,
+	 * which run on the event dispatch thread. call on the event dispatch thread
+	 *
+	 * @param worker the run
+	 */
+	public void run(SwingWorker<?, ?> worker) {
+		cancel();
+		current = worker;
+		executor.execute(worker);
+	}
+
+	/**
+	 * queues upkeep work, such as the full search of a tree that follows the
+	 * graph, behind the runs already on the background thread. unlike
+	 * {@link #run(SwingWorker)} it does not cancel the current run and is not
+	 * cancelled by the next one. call on the event dispatch thread
+	 *
+	 * @param worker the work
+	 */
+	public void submit(SwingWorker<?, ?> worker) {
+		executor.execute(worker);
+	}
+
+	/**
+	 * asks the current run to stop. its done method is called right away, the
+	 * background thread stops at the next check of the engine. call on the event
+	 * dispatch thread
+	 *
+	 * @return {@code true} if a run was cancelled
+	 */
+	public boolean cancel() {
+		return current != null && current.cancel(true);
+	}
+
+	/**
+	 * tells whether the last run started has not finished yet
+	 *
+	 * @return {@code true} while it runs
+	 */
+	public boolean isRunning() {
+		return current != null && !current.isDone();
+	}
+
+	/**
+	 * cancels the current run and stops the background thread
+	 */
+	public void shutdown() {
+		cancel();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * called by the engines every so often, throws if the thread running them was
+	 * asked to stop. a search on the event dispatch thread is never interrupted
+	 * so this does nothing there
+	 *
+	 * @throws CancellationException if the current thread is interrupted
+	 */
+	public static void checkCancelled() {
+		checkCancelled(Thread.currentThread());
+	}
+
+	/**
+	 * like {@link #checkCancelled()} for work the thread that started a search
+	 * handed to other threads, such as a parallel stream
+	 *
+	 * @param caller the thread that started the search
+	 * @throws CancellationException if that thread is interrupted
+	 */
+	public static void checkCancelled(Thread caller) {
+		if (caller.isInterrupted()) {
+			throw new CancellationException("the run was cancelled");
+		}
+	}
+}
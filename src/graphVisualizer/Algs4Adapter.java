@@ -21,8 +21,30 @@ public class Algs4Adapter {
 	// DFS Variables
 	private List<List<Vertex>> cycles;
 
-	// Dijkstra Variables
-	
+	// BFS engine, kept so its arrays are reused between runs
+	private BFSAdapter bfsAdapter;
+
+	// direction-optimizing BFS engine for full traversals, kept so its bitsets are
+	// reused between runs
+	private DirectionOptimizingBFS directionOptimizingBFS;
+
+	// Dijkstra engine, kept so its arrays and heap are reused between runs
+	private DijkstraAdapter dijkstraAdapter;
+
+	// parallel engine for full weighted searches on large graphs
+	private DeltaStepping deltaStepping;
+
+	// shortest path tree from the last source that is repaired as the graph changes
+	private DynamicShortestPaths dynamicShortestPaths;
+
+	// runs the full searches of that tree, null to run them in the edit
+	private AlgorithmRunner runner;
+
+	// bidirectional point-to-point engine, kept so its arrays are reused
+	private BidirectionalSearch bidirectionalSearch;
+
+	// A* engine, kept so its arrays and heuristic scale are reused
+	private AStarSearch aStarSearch;
 
 	public Algs4Adapter(Graph graph) {
 		this.graph = graph;
@@ -37,12 +59,199 @@ public class Algs4Adapter {
 	 * @return
 	 */
 	public List<Vertex> runBFS(Vertex start, Vertex end) {
-		BFSAdapter bfsAdapter = new BFSAdapter(graph);
+		if (bfsAdapter == null) {
+			bfsAdapter = new BFSAdapter(graph);
+		}
 
 		return bfsAdapter.findShortestPath(start, end);
 
 	}
 
+	/**
+	 * calls the bidirectional BFS in BidirectionalSearch, which meets in the middle
+	 * instead of growing one search all the way from the start vertex
+	 * 
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public List<Vertex> runBidirectionalBFS(Vertex start, Vertex end) {
+		return getBidirectionalSearch().bfs(start, end);
+	}
+
+	/**
+	 * calls the bidirectional Dijkstra in BidirectionalSearch, which meets in the
+	 * middle instead of settling every vertex closer than the end vertex
+	 * 
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public List<Vertex> runBidirectionalDijkstra(Vertex start, Vertex end) {
+		return getBidirectionalSearch().dijkstra(start, end);
+	}
+
+	/**
+	 * gets the bidirectional engine, creating it on first use
+	 * 
+	 * @return the engine
+	 */
+	public BidirectionalSearch getBidirectionalSearch() {
+		if (bidirectionalSearch == null) {
+			bidirectionalSearch = new BidirectionalSearch(graph);
+		}
+		return bidirectionalSearch;
+	}
+
+	/**
+	 * calls AStarSearch, which uses vertex positions to steer the search towards
+	 * the end vertex
+	 * 
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	public List<Vertex> runAStar(Vertex start, Vertex end) {
+		return getAStarSearch().findShortestPath(start, end);
+	}
+
+	/**
+	 * gets the A* engine, creating it on first use
+	 * 
+	 * @return the engine
+	 */
+	public AStarSearch getAStarSearch() {
+		if (aStarSearch == null) {
+			aStarSearch = new AStarSearch(graph);
+		}
+		return aStarSearch;
+	}
+
+	/**
+	 * gets the direction-optimizing BFS engine, creating it on first use. its
+	 * alpha and beta thresholds can be tuned on the returned engine
+	 * 
+	 * @return the engine
+	 */
+	public DirectionOptimizingBFS getDirectionOptimizingBFS() {
+		if (directionOptimizingBFS == null) {
+			directionOptimizingBFS = new DirectionOptimizingBFS(graph);
+		}
+		return directionOptimizingBFS;
+	}
+
+	/**
+	 * gets the delta-stepping engine, creating it on first use. its delta and
+	 * sequential threshold can be tuned on the returned engine
+	 * 
+	 * @return the engine
+	 */
+	public DeltaStepping getDeltaStepping() {
+		if (deltaStepping == null) {
+			deltaStepping = new DeltaStepping(graph);
+		}
+		return deltaStepping;
+	}
+
+	/**
+	 * sets the runner that the full searches of the trees from
+	 * {@link #getDynamicShortestPaths(Vertex)} go to, so an edit that needs one
+	 * does not wait for it. trees made before keep running them in the edit
+	 * 
+	 * @param runner the runner, or null to run them right away
+	 */
+	public void setAlgorithmRunner(AlgorithmRunner runner) {
+		this.runner = runner;
+	}
+
+	/**
+	 * gets a shortest path tree from a source that keeps itself up to date as the
+	 * graph is edited. the tree of the previous source stops following the graph
+	 * when the source changes
+	 * 
+	 * @param source the source vertex
+	 * @return the tree
+	 */
+	public DynamicShortestPaths getDynamicShortestPaths(Vertex source) {
+		return getDynamicShortestPaths(source, null);
+	}
+
+	/**
+	 * like {@link #getDynamicShortestPaths(Vertex)}, but a new tree starts from a
+	 * Dijkstra tree already computed for the current version of the graph instead
+	 * of searching again
+	 * 
+	 * @param source the source vertex
+	 * @param seed   a Dijkstra tree from the source, or null
+	 * @return the tree
+	 */
+	public DynamicShortestPaths getDynamicShortestPaths(Vertex source, ShortestPathTree seed) {
+		if (!hasDynamicShortestPaths(source)) {
+			if (dynamicShortestPaths != null) {
+				dynamicShortestPaths.detach();
+			}
+			dynamicShortestPaths = new DynamicShortestPaths(graph, source, seed, runner);
+		}
+		return dynamicShortestPaths;
+	}
+
+	/**
+	 * tells whether a tree from a source is already following the graph, so
+	 * asking for it needs no search
+	 * 
+	 * @param source the source vertex
+	 * @return {@code true} if the tree exists
+	 */
+	public boolean hasDynamicShortestPaths(Vertex source) {
+		return dynamicShortestPaths != null && dynamicShortestPaths.getSource() == source;
+	}
+
+	/**
+	 * hop distances between every pair of vertices, computed by MultiSourceBFS 64
+	 * sources at a time instead of one BFS per vertex
+	 * 
+	 * @return the distance matrix, row i holds the distances from the vertex with
+	 *         id i
+	 */
+	public HopDistanceMatrix runAllPairsHopDistances() {
+		return new MultiSourceBFS(graph).allPairs();
+	}
+
+	/**
+	 * weighted distances between every pair of vertices, computed by
+	 * AllPairsShortestPaths with one Dijkstra workspace per worker thread
+	 * 
+	 * @return the distance matrix, close it when done in case it is backed by a
+	 *         file
+	 */
+	public DistanceMatrix runAllPairsShortestPaths() {
+		return new AllPairsShortestPaths(graph).run();
+	}
+
+	/**
+	 * runs a full single source search and returns its shortest path tree, unlike
+	 * runBFS this does not stop at an end vertex so the tree answers queries to
+	 * every vertex
+	 * 
+	 * @param algorithmName "BFS" or "Dijkstra"
+	 * @param start         the source vertex
+	 * @return the shortest path tree
+	 */
+	public ShortestPathTree computeShortestPathTree(String algorithmName, Vertex start) {
+		switch (algorithmName) {
+		case "BFS":
+			// a full traversal has no end vertex to stop at, so it gains the most from
+			// switching to bottom up on the large middle levels
+			getDirectionOptimizingBFS().bfs(start.getId());
+			return directionOptimizingBFS.getTree(start.getId());
+		case "Dijkstra":
+			// runs Dijkstra's algorithm itself unless the graph is large enough to
+			// share the work between processors
+			return getDeltaStepping().run(start.getId());
+		}
+		throw new IllegalArgumentException("no shortest path tree for algorithm " + algorithmName);
+	}
+
 	/**
 	 * calls DFSCycleDetector and then returns the detected cycles from the
 	 * DFSCycleDetector class
@@ -57,8 +266,48 @@ public class Algs4Adapter {
 		return cycles;
 	}
 
+	/**
+	 * runs the DFSCycleDetector with its components searched either in parallel
+	 * or one after another, both give the same cycles in the same order
+	 *
+	 * @param parallel whether to search the components on the common fork join
+	 *                 pool
+	 * @return the detected cycles
+	 */
+	public List<List<Vertex>> runDFS(boolean parallel) {
+		DFSCycleDetector dfsCycleDetector = new DFSCycleDetector(graph, parallel);
+
+		cycles = dfsCycleDetector.getCycles();
+
+		return cycles;
+	}
+
+	/**
+	 * calls DijkstraAdapter with the default heap arity and returns the shortest
+	 * weighted path from the start to end vertices
+	 * 
+	 * @param start
+	 * @param end
+	 * @return
+	 */
 	public List<Vertex> runDijkstra(Vertex start, Vertex end) {
-		DijkstraAdapter dijkstraAdapter = new DijkstraAdapter(graph);
+		return runDijkstra(start, end, DijkstraAdapter.DEFAULT_HEAP_ARITY);
+	}
+
+	/**
+	 * calls DijkstraAdapter using a heap with the given arity, so binary and 4-ary
+	 * heaps can be compared on the same graph
+	 * 
+	 * @param start
+	 * @param end
+	 * @param heapArity children per heap node
+	 * @return
+	 */
+	public List<Vertex> runDijkstra(Vertex start, Vertex end, int heapArity) {
+		if (dijkstraAdapter == null) {
+			dijkstraAdapter = new DijkstraAdapter(graph, heapArity);
+		}
+		dijkstraAdapter.setHeapArity(heapArity);
 		return dijkstraAdapter.findShortestPath(start, end);
 
 	}
@@ -0,0 +1,127 @@
+package graphVisualizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * shortest path distances between every pair of vertices, one Dijkstra run per
+ * source. the runs are shared out over the common fork join pool, and each
+ * worker keeps a single {@link DijkstraAdapter} and row buffer that it reuses
+ * for every source it takes, so no arrays are built per source.
+ *
+ * distances are written into a {@link DistanceMatrix}, on the heap when V^2
+ * floats fit comfortably and in a memory mapped file otherwise
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class AllPairsShortestPaths {
+
+	private IndexedGraphSource graph;
+	private int workers = ForkJoinPool.commonPool().getParallelism();
+
+	/**
+	 * constructor that takes the graph to search, or a snapshot of it
+	 *
+	 * @param graph
+	 */
+	public AllPairsShortestPaths(IndexedGraphSource graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * setter method for the number of workers, each one holds its own Dijkstra
+	 * workspace
+	 *
+	 * @param workers at least 1
+	 */
+	public void setWorkers(int workers) {
+		if (workers < 1)
+			throw new IllegalArgumentException("need at least one worker: " + workers);
+		this.workers = workers;
+	}
+
+	/**
+	 * getter method for the number of workers
+	 *
+	 * @return
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * computes every distance into a matrix on the heap, or into a temporary mapped
+	 * file if the matrix would take more than half of the heap. close the matrix
+	 * when done to delete the file
+	 *
+	 * @return the distance matrix
+	 */
+	public DistanceMatrix run() {
+		IndexedGraph view = graph.getIndexedView();
+		int n = view.V();
+		long bytes = (long) n * n * Float.BYTES;
+		DistanceMatrix matrix;
+		if (FloatDistanceMatrix.fits(n, n) && bytes <= Runtime.getRuntime().maxMemory() / 2) {
+			matrix = new FloatDistanceMatrix(n, n);
+		} else {
+			try {
+				matrix = MappedDistanceMatrix.temporary(n, n);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		// the caller only gets the matrix back on success, so a cancelled or failed
+		// run closes it here and the mapped file is not left behind
+		try {
+			run(view, matrix);
+		} catch (RuntimeException | Error e) {
+			try {
+				matrix.close();
+			} catch (IOException closeFailure) {
+				e.addSuppressed(closeFailure);
+			}
+			throw e;
+		}
+		return matrix;
+	}
+
+	/**
+	 * computes every distance into the given matrix, each row is set as soon as
+	 * its source is done
+	 *
+	 * @param matrix a matrix with a row and a column per vertex
+	 */
+	public void run(DistanceMatrix matrix) {
+		run(graph.getIndexedView(), matrix);
+	}
+
+	// every worker searches the same view, so all rows come from one version of
+	// the graph even if it is edited meanwhile
+	private void run(IndexedGraph view, DistanceMatrix matrix) {
+		int n = view.V();
+		if (matrix.rows() != n || matrix.columns() != n) {
+			throw new IllegalArgumentException(
+					"matrix is " + matrix.rows() + " by " + matrix.columns() + " but the graph has " + n + " vertices");
+		}
+
+		// workers take the next source until none are left, so a few slow sources
+		// do not hold up the others
+		AtomicInteger next = new AtomicInteger();
+		Thread caller = Thread.currentThread();
+		IntStream.range(0, Math.min(workers, Math.max(n, 1))).parallel().forEach(worker -> {
+			DijkstraAdapter dijkstra = new DijkstraAdapter(view);
+			float[] row = new float[n];
+			for (int s = next.getAndIncrement(); s < n; s = next.getAndIncrement()) {
+				AlgorithmRunner.checkCancelled(caller);
+				dijkstra.dijkstra(s);
+				for (int v = 0; v < n; v++) {
+					row[v] = (float) dijkstra.distTo(v);
+				}
+				matrix.setRow(s, row);
+			}
+		});
+	}
+}
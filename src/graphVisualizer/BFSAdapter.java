@@ -1,44 +1,32 @@
 package graphVisualizer;
 
-import edu.princeton.cs.algs4.Stack;
-
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-
-import edu.princeton.cs.algs4.Bag;
-import edu.princeton.cs.algs4.Queue;
 
+/**
+ * breadth first search over the id-based view of a graph. the marked, edgeTo,
+ * distTo and queue arrays are kept between runs and only grow when the graph
+ * does, so once warmed up a run allocates nothing per visited vertex
+ */
 public class BFSAdapter {
 
 	private static final int INFINITY = Integer.MAX_VALUE;
-	private boolean[] marked; // marked[v] = is there an s-v path
-	private int[] edgeTo; // edgeTo[v] = previous edge on shortest s-v path
-	private int[] distTo; // distTo[v] = number of edges shortest s-v path
-	private Graph graph;
-	private HashMap<Integer, Vertex> indexToVertex; // to convert indices to vertex objects
-	private HashMap<Vertex, Integer> vertexToIndex; // to convert vertex objects to indices
+	private boolean[] marked = new boolean[0]; // marked[v] = is there an s-v path
+	private int[] edgeTo = new int[0]; // edgeTo[v] = previous edge on shortest s-v path
+	private int[] distTo = new int[0]; // distTo[v] = number of edges shortest s-v path
+	private int[] queue = new int[0]; // FIFO of vertex ids waiting to be scanned
+	private int visitedCount; // number of vertices marked by the last run
+	private IndexedGraphSource graph;
+	private IndexedGraph view; // id-based view of the graph for the current run
 
 	/**
-	 * Adapted constructor that takes a graph object, initializes two maps fills the
-	 * maps with the vertices and their index
+	 * Adapted constructor that takes a graph object, vertices are addressed by the
+	 * ids the graph assigns them. keep the adapter around to reuse its arrays
 	 */
-	public BFSAdapter(graphVisualizer.Graph graph) {
+	public BFSAdapter(IndexedGraphSource graph) {
 		this.graph = graph;
-
-		vertexToIndex = new HashMap<>();
-		indexToVertex = new HashMap<>();
-
-		List<Vertex> vertices = graph.getVertices();
-
-		for (int i = 0; i < vertices.size(); i++) {
-			vertexToIndex.put(vertices.get(i), i);
-			indexToVertex.put(i, vertices.get(i));
-
-		}
-
 	}
 
 	/**
@@ -47,35 +35,13 @@ public class BFSAdapter {
 	 * @return
 	 */
 	private int V() {
-		return graph.getVertices().size();
-	}
-
-	/**
-	 * @param v
-	 * @return
-	 */
-	private Iterable<Integer> adj(int v) {
-		// find the vertex object that corresponds to index v
-		Vertex vertex = indexToVertex.get(v);
-
-		// get the adjacent vertices to the given vertex
-		List<Vertex> adj = new ArrayList<>();
-		adj = graph.getAdjacentVertices(vertex);
-
-		List<Integer> vertexIndices = new ArrayList<>();
-		// loop through each adjacent vertex and convert it to its index
-		for (Vertex vert : adj) {
-			vertexIndices.add(vertexToIndex.get(vert));
-		}
-
-		return vertexIndices;
-
+		return view.V();
 	}
 
 	public List<Vertex> findShortestPath(Vertex start, Vertex end) {
-		// convert start and end vertex to indices
-		int startIndex = vertexToIndex.get(start);
-		int endIndex = vertexToIndex.get(end);
+		// vertex ids double as array indices
+		int startIndex = start.getId();
+		int endIndex = end.getId();
 
 		// run BFS algo
 		bfs(startIndex, endIndex);
@@ -90,11 +56,11 @@ public class BFSAdapter {
 
 		// start from the end index and work backward
 		for (int i = endIndex; i != startIndex; i = edgeTo[i]) {
-			path.add(indexToVertex.get(i));
+			path.add(view.vertex(i));
 		}
 
 		// add the start vertex at the end
-		path.add(indexToVertex.get(startIndex));
+		path.add(view.vertex(startIndex));
 
 		// reverse the path
 		Collections.reverse(path);
@@ -102,34 +68,46 @@ public class BFSAdapter {
 		return path;
 	}
 
-	// breadth-first search from a single vertex to
-	private void bfs(int startIndex, int endIndex) {
-		// initialization for BFS
-		int n = vertexToIndex.size(); // Total number of vertices
-
-		// initialize a queue and add the startIndex
-		Queue<Integer> q = new Queue<Integer>();
-		q.enqueue(startIndex);
-
-		// create arrays sized for all vertices
-		marked = new boolean[n];
-		edgeTo = new int[n];
-		distTo = new int[n];
+	/**
+	 * breadth-first search from a single vertex that stops once the end vertex is
+	 * reached, ids are positions in the graph's vertex list
+	 * 
+	 * @param startIndex id of the start vertex
+	 * @param endIndex   id of the vertex to stop at, or -1 to search everything
+	 *                   reachable
+	 */
+	public void bfs(int startIndex, int endIndex) {
+		view = graph.getIndexedView();
+		int n = V(); // Total number of vertices
+
+		// reuse the arrays from the previous run unless the graph grew
+		if (marked.length < n) {
+			marked = new boolean[n];
+			edgeTo = new int[n];
+			distTo = new int[n];
+			queue = new int[n];
+		}
 
 		// set initial values for all vertices
-		for (int i = 0; i < n; i++) {
-			marked[i] = false;
-			distTo[i] = INFINITY;
-		}
+		Arrays.fill(marked, 0, n, false);
+		Arrays.fill(distTo, 0, n, INFINITY);
 
 		// set start vertex values
 		marked[startIndex] = true;
 		distTo[startIndex] = 0;
 
-		while (!q.isEmpty() && marked[endIndex] != true) {
-			int v = q.dequeue();
+		// every vertex is enqueued at most once, so a queue of length V never
+		// needs to wrap around
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = startIndex;
+
+		while (head < tail && (endIndex < 0 || !marked[endIndex])) {
+			int v = queue[head++];
+
+			for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+				int w = view.target(e);
 
-			for (int w : adj(v)) {
 				// if this adjacent vertex hasn't been visited yet
 				if (!marked[w]) {
 					// mark it as visited
@@ -142,13 +120,38 @@ public class BFSAdapter {
 					distTo[w] = distTo[v] + 1;
 
 					// add to queue for further exploration
-					q.enqueue(w);
-
+					queue[tail++] = w;
 				}
 			}
+		}
 
+		visitedCount = tail;
+	}
+
+	/**
+	 * copies the result of the last run into a shortest path tree, distances are
+	 * counted in edges
+	 * 
+	 * @param startIndex id of the start vertex of the last run
+	 * @return the tree
+	 */
+	public ShortestPathTree getTree(int startIndex) {
+		int n = V();
+		double[] dist = new double[n];
+		for (int v = 0; v < n; v++) {
+			dist[v] = marked[v] ? distTo[v] : Double.POSITIVE_INFINITY;
 		}
+		return new ShortestPathTree("BFS", startIndex, view, Arrays.copyOf(edgeTo, n), dist);
+	}
 
+	/**
+	 * returns how many vertices the last run marked, useful to compare how much
+	 * of the graph different searches touch
+	 * 
+	 * @return the number of marked vertices
+	 */
+	public int getVisitedCount() {
+		return visitedCount;
 	}
 
 	/**
@@ -180,7 +183,7 @@ public class BFSAdapter {
 
 	// throw an IllegalArgumentException unless {@code 0 <= v < V}
 	private void validateVertex(int v) {
-		int V = marked.length;
+		int V = view.V();
 		if (v < 0 || v >= V)
 			throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
 	}
@@ -0,0 +1,89 @@
+package graphVisualizer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * small benchmark that checks {@link BFSAdapter} allocates nothing per visited
+ * vertex once it is warmed up. it runs full traversals of a random graph and
+ * reads the bytes the thread allocated from the JVM, exiting with status 1 if
+ * the warm runs allocated more than a few bytes each
+ *
+ * run it with {@code java graphVisualizer.BFSAllocationCheck [vertices] [edges]}
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class BFSAllocationCheck {
+
+	private static final int WARMUP_RUNS = 20;
+	private static final int MEASURED_RUNS = 50;
+
+	// bytes a warm run may allocate, far less than one per vertex. leaves room for
+	// the odd object the JIT or the bean itself allocates while measuring
+	private static final long ALLOWED_BYTES_PER_RUN = 64;
+
+	/**
+	 * builds the graph, warms up the adapter and measures the warm runs
+	 *
+	 * @param args optional number of vertices and number of edges
+	 */
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int m = args.length > 1 ? Integer.parseInt(args[1]) : 300000;
+
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)
+				|| !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			System.out.println("this JVM can not measure allocated bytes per thread");
+			return;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+
+		Graph graph = randomGraph(n, m, new Random(42));
+		BFSAdapter bfs = new BFSAdapter(graph);
+
+		// the first runs size the arrays, build the view and get the loop compiled
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			bfs.bfs(i % n, -1);
+		}
+
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		long started = System.nanoTime();
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			bfs.bfs(i % n, -1);
+		}
+		long elapsed = System.nanoTime() - started;
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		System.out.printf("%d vertices, %d edges, %d warm full traversals%n", n, graph.getEdges().size(),
+				MEASURED_RUNS);
+		System.out.printf("visited %d vertices per run, %.2f ms per run%n", bfs.getVisitedCount(),
+				elapsed / 1e6 / MEASURED_RUNS);
+		System.out.printf("allocated %d bytes in total, %.1f per run%n", allocated,
+				(double) allocated / MEASURED_RUNS);
+		if (allocated > ALLOWED_BYTES_PER_RUN * MEASURED_RUNS) {
+			System.out.println("FAIL: warm runs allocate memory");
+			System.exit(1);
+		}
+		System.out.println("OK: warm runs allocate nothing per vertex");
+	}
+
+	// a graph with random positions and random undirected edges
+	private static Graph randomGraph(int n, int m, Random random) {
+		Graph graph = new Graph(false);
+		Vertex[] vertices = new Vertex[n];
+		for (int i = 0; i < n; i++) {
+			vertices[i] = new Vertex(random.nextInt(2000), random.nextInt(2000), String.valueOf(i));
+			graph.addVertex(vertices[i]);
+		}
+		for (int i = 0; i < m; i++) {
+			Vertex from = vertices[random.nextInt(n)];
+			Vertex to = vertices[random.nextInt(n)];
+			if (from != to) {
+				graph.addEdge(from, to, 1);
+			}
+		}
+		return graph;
+	}
+}
@@ -0,0 +1,288 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * point-to-point searches that grow one search forward from the start vertex
+ * and one backward from the end vertex until they meet. the backward search
+ * walks incoming edges so it also works on directed graphs. the arrays are kept
+ * between runs and only grow when the graph does
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class BidirectionalSearch {
+
+	private IndexedGraphSource graph;
+	private IndexedGraph view; // id-based view of the graph for the current run
+
+	// forward search state, parentF[v] = previous vertex on the s-v path
+	private double[] distF = new double[0];
+	private int[] parentF = new int[0];
+	private boolean[] settledF = new boolean[0];
+	private int[] queueF = new int[0];
+
+	// backward search state, parentB[v] = next vertex on the v-t path
+	private double[] distB = new double[0];
+	private int[] parentB = new int[0];
+	private boolean[] settledB = new boolean[0];
+	private int[] queueB = new int[0];
+
+	private IndexDaryMinPQ pqF = new IndexDaryMinPQ(DijkstraAdapter.DEFAULT_HEAP_ARITY, 0);
+	private IndexDaryMinPQ pqB = new IndexDaryMinPQ(DijkstraAdapter.DEFAULT_HEAP_ARITY, 0);
+
+	private double best; // length of the shortest s-t path found so far
+	private int meetFrom; // forward end of the edge where the best path crosses over
+	private int meetTo; // backward end of that edge
+	private int exploredCount; // vertices reached by either search in the last run
+
+	/**
+	 * constructor for class BidirectionalSearch
+	 * 
+	 * @param graph the graph to search
+	 */
+	public BidirectionalSearch(IndexedGraphSource graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * fewest-edges path between two vertices, each step expands one full BFS level
+	 * on whichever side has the smaller frontier
+	 * 
+	 * @param start start vertex
+	 * @param end   end vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> bfs(Vertex start, Vertex end) {
+		return bfs(start.getId(), end.getId());
+	}
+
+	/**
+	 * like {@link #bfs(Vertex, Vertex)} for vertex ids, so a caller on another
+	 * thread can read the ids before the search starts
+	 * 
+	 * @param s id of the start vertex
+	 * @param t id of the end vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> bfs(int s, int t) {
+		prepare();
+
+		int headF = 0, tailF = 0, headB = 0, tailB = 0;
+		distF[s] = 0;
+		queueF[tailF++] = s;
+		distB[t] = 0;
+		queueB[tailB++] = t;
+		double depthF = 0; // distance of the vertices waiting in queueF
+		double depthB = 0; // distance of the vertices waiting in queueB
+
+		if (s == t) {
+			best = 0;
+			meetFrom = meetTo = s;
+		}
+
+		// a path shorter than best would need a vertex both sides have reached, so
+		// once best <= depthF + depthB + 1 it can no longer improve
+		while (headF < tailF && headB < tailB && best > depthF + depthB + 1) {
+			AlgorithmRunner.checkCancelled();
+			if (tailF - headF <= tailB - headB) {
+				int levelEnd = tailF;
+				while (headF < levelEnd) {
+					int v = queueF[headF++];
+					for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+						int w = view.target(e);
+						if (distF[w] == Double.POSITIVE_INFINITY) {
+							distF[w] = distF[v] + 1;
+							parentF[w] = v;
+							queueF[tailF++] = w;
+						}
+						meet(v, w, distF[v] + 1 + distB[w]);
+					}
+				}
+				depthF++;
+			} else {
+				int levelEnd = tailB;
+				while (headB < levelEnd) {
+					int v = queueB[headB++];
+					for (int e = view.inBegin(v); e < view.inEnd(v); e++) {
+						int w = view.source(e);
+						if (distB[w] == Double.POSITIVE_INFINITY) {
+							distB[w] = distB[v] + 1;
+							parentB[w] = v;
+							queueB[tailB++] = w;
+						}
+						meet(w, v, distF[w] + 1 + distB[v]);
+					}
+				}
+				depthB++;
+			}
+		}
+
+		exploredCount = tailF + tailB;
+		return buildPath(s, t);
+	}
+
+	/**
+	 * shortest weighted path between two vertices, each step settles the closer of
+	 * the two heap minimums. the search stops once the two minimums add up to at
+	 * least the best path found, no unsettled vertex can lead to a shorter one
+	 * 
+	 * @param start start vertex
+	 * @param end   end vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> dijkstra(Vertex start, Vertex end) {
+		return dijkstra(start.getId(), end.getId());
+	}
+
+	/**
+	 * like {@link #dijkstra(Vertex, Vertex)} for vertex ids
+	 * 
+	 * @param s id of the start vertex
+	 * @param t id of the end vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> dijkstra(int s, int t) {
+		prepare();
+
+		distF[s] = 0;
+		distB[t] = 0;
+		pqF.insert(s, 0);
+		pqB.insert(t, 0);
+		exploredCount = 0;
+
+		if (s == t) {
+			best = 0;
+			meetFrom = meetTo = s;
+		}
+
+		while (!pqF.isEmpty() && !pqB.isEmpty() && pqF.minKey() + pqB.minKey() < best) {
+			if ((++exploredCount & 1023) == 0) {
+				AlgorithmRunner.checkCancelled();
+			}
+			if (pqF.minKey() <= pqB.minKey()) {
+				int v = pqF.delMin();
+				settledF[v] = true;
+				for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+					int w = view.target(e);
+					double nd = distF[v] + view.weight(e);
+					if (!settledF[w] && nd < distF[w]) {
+						distF[w] = nd;
+						parentF[w] = v;
+						if (pqF.contains(w)) {
+							pqF.decreaseKey(w, nd);
+						} else {
+							pqF.insert(w, nd);
+						}
+					}
+					meet(v, w, nd + distB[w]);
+				}
+			} else {
+				int v = pqB.delMin();
+				settledB[v] = true;
+				for (int e = view.inBegin(v); e < view.inEnd(v); e++) {
+					int w = view.source(e);
+					double nd = distB[v] + view.inWeight(e);
+					if (!settledB[w] && nd < distB[w]) {
+						distB[w] = nd;
+						parentB[w] = v;
+						if (pqB.contains(w)) {
+							pqB.decreaseKey(w, nd);
+						} else {
+							pqB.insert(w, nd);
+						}
+					}
+					meet(w, v, distF[w] + nd);
+				}
+			}
+		}
+
+		return buildPath(s, t);
+	}
+
+	/**
+	 * returns how many vertices the last run reached, for BFS that is every
+	 * vertex either side enqueued and for Dijkstra every vertex either side settled
+	 * 
+	 * @return the explored count
+	 */
+	public int getExploredCount() {
+		return exploredCount;
+	}
+
+	/**
+	 * length of the path returned by the last run, counted in edges for BFS and
+	 * in total weight for Dijkstra
+	 * 
+	 * @return the path length, or infinity if no path exists
+	 */
+	public double getPathLength() {
+		return best;
+	}
+
+	// record the edge u -> w as the crossing point if it gives a shorter path
+	private void meet(int u, int w, double length) {
+		if (length < best) {
+			best = length;
+			meetFrom = u;
+			meetTo = w;
+		}
+	}
+
+	// refresh the view and reset the arrays, growing them if the graph grew
+	private void prepare() {
+		view = graph.getIndexedView();
+		int n = view.V();
+		if (distF.length < n) {
+			distF = new double[n];
+			parentF = new int[n];
+			settledF = new boolean[n];
+			queueF = new int[n];
+			distB = new double[n];
+			parentB = new int[n];
+			settledB = new boolean[n];
+			queueB = new int[n];
+		}
+		Arrays.fill(distF, 0, n, Double.POSITIVE_INFINITY);
+		Arrays.fill(distB, 0, n, Double.POSITIVE_INFINITY);
+		Arrays.fill(settledF, 0, n, false);
+		Arrays.fill(settledB, 0, n, false);
+		pqF.reset(n);
+		pqB.reset(n);
+		best = Double.POSITIVE_INFINITY;
+		meetFrom = -1;
+		meetTo = -1;
+	}
+
+	// join the forward path to meetFrom with the backward path from meetTo
+	private List<Vertex> buildPath(int s, int t) {
+		if (best == Double.POSITIVE_INFINITY) {
+			return null;
+		}
+
+		List<Vertex> path = new ArrayList<>();
+		for (int v = meetFrom; v != s; v = parentF[v]) {
+			path.add(view.vertex(v));
+		}
+		path.add(view.vertex(s));
+		Collections.reverse(path);
+
+		// meetTo equals meetFrom only when s == t or the best crossing was a self loop
+		int v = meetTo;
+		if (v == meetFrom) {
+			if (v == t) {
+				return path;
+			}
+			v = parentB[v];
+		}
+		while (true) {
+			path.add(view.vertex(v));
+			if (v == t) {
+				return path;
+			}
+			v = parentB[v];
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+
+/**
+ * the graph of strongly connected components, one node per component and one
+ * edge per pair of components joined by at least one edge. it has no cycles, so
+ * reachability between vertices in different components is reachability
+ * between their nodes here. edges are stored in flat arrays like IndexedGraph
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class CondensationDAG {
+
+	private final StronglyConnectedComponents scc;
+	private final int[] outStart; // edges of node c are in outStart[c] until outStart[c + 1]
+	private final int[] outTarget; // target node of each edge, ascending per node
+
+	/**
+	 * builds the condensation of a graph
+	 * 
+	 * @param view id-based view of the graph
+	 * @param scc  its strongly connected components
+	 */
+	CondensationDAG(IndexedGraph view, StronglyConnectedComponents scc) {
+		this.scc = scc;
+		int count = scc.count();
+		outStart = new int[count + 1];
+
+		// collect the distinct target components of each component, using a stamp
+		// per target so duplicates are skipped without clearing an array
+		int[] stamp = new int[count];
+		Arrays.fill(stamp, -1);
+		int[] targets = new int[Math.max(16, count)];
+		int m = 0;
+		for (int c = 0; c < count; c++) {
+			outStart[c] = m;
+			for (int i = scc.memberBegin(c); i < scc.memberEnd(c); i++) {
+				int v = scc.member(i);
+				for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+					int d = scc.id(view.target(e));
+					if (d != c && stamp[d] != c) {
+						stamp[d] = c;
+						if (m == targets.length) {
+							targets = Arrays.copyOf(targets, m * 2);
+						}
+						targets[m++] = d;
+					}
+				}
+			}
+			Arrays.sort(targets, outStart[c], m);
+		}
+		outStart[count] = m;
+		outTarget = Arrays.copyOf(targets, m);
+	}
+
+	/**
+	 * returns the number of nodes, one per component
+	 * 
+	 * @return the node count
+	 */
+	public int V() {
+		return outStart.length - 1;
+	}
+
+	/**
+	 * returns the number of edges between components
+	 * 
+	 * @return the edge count
+	 */
+	public int E() {
+		return outTarget.length;
+	}
+
+	/**
+	 * first outgoing slot of a node
+	 * 
+	 * @param c the component number
+	 * @return the first slot
+	 */
+	public int outBegin(int c) {
+		return outStart[c];
+	}
+
+	/**
+	 * one past the last outgoing slot of a node
+	 * 
+	 * @param c the component number
+	 * @return the end slot
+	 */
+	public int outEnd(int c) {
+		return outStart[c + 1];
+	}
+
+	/**
+	 * node an outgoing slot points to
+	 * 
+	 * @param e the outgoing slot
+	 * @return the target component number
+	 */
+	public int target(int e) {
+		return outTarget[e];
+	}
+
+	/**
+	 * can one vertex reach another, vertices in the same component always can and
+	 * otherwise only the DAG is searched
+	 * 
+	 * @param v the source vertex id
+	 * @param w the target vertex id
+	 * @return whether there is a path from v to w
+	 */
+	public boolean hasPath(int v, int w) {
+		int from = scc.id(v);
+		int to = scc.id(w);
+		if (from == to) {
+			return true;
+		}
+
+		boolean[] marked = new boolean[V()];
+		int[] stack = new int[V()];
+		int top = 0;
+		stack[top++] = from;
+		marked[from] = true;
+		while (top > 0) {
+			int c = stack[--top];
+			for (int e = outBegin(c); e < outEnd(c); e++) {
+				int d = outTarget[e];
+				if (d == to) {
+					return true;
+				}
+				if (!marked[d]) {
+					marked[d] = true;
+					stack[top++] = d;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,58 @@
+package graphVisualizer;
+
+/**
+ * turns a cycle of vertex ids into a 64 bit key that is the same for every way
+ * of writing down that cycle. the cycle is read starting from its smallest id,
+ * and for undirected graphs in the direction of the smaller neighbour of that
+ * id, so rotations (and reversals when undirected) get the same key
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public final class CycleKey {
+
+	private CycleKey() {
+	}
+
+	/**
+	 * computes the key of a cycle in O(length) without allocating
+	 * 
+	 * @param cycle      vertex ids in the order the edges run, the last id
+	 *                   connects back to the first. for a directed cycle the key
+	 *                   then tells it apart from its reverse
+	 * @param length     number of ids to use from the array
+	 * @param undirected whether the reversed cycle counts as the same cycle
+	 * @return the canonical key
+	 */
+	public static long of(int[] cycle, int length, boolean undirected) {
+		// rotate to the smallest id
+		int start = 0;
+		for (int i = 1; i < length; i++) {
+			if (cycle[i] < cycle[start]) {
+				start = i;
+			}
+		}
+
+		// read towards the smaller neighbour when direction does not matter
+		int step = 1;
+		if (undirected && length > 2) {
+			int after = cycle[(start + 1) % length];
+			int before = cycle[(start + length - 1) % length];
+			if (before < after) {
+				step = length - 1;
+			}
+		}
+
+		long h = length;
+		for (int i = 0, j = start; i < length; i++, j = (j + step) % length) {
+			h = mix(h ^ (cycle[j] & 0xffffffffL));
+		}
+		return h;
+	}
+
+	// splitmix64 finalizer, spreads every input bit over the whole key
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -1,166 +1,215 @@
 package graphVisualizer;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * finds cycles with a depth first search, a cycle is reported whenever the
+ * search reaches a vertex that is still on its path. the search keeps its path
+ * in an explicit stack so long chains can not overflow the thread stack.
+ * 
+ * a cycle never leaves its strongly connected component, so the search runs on
+ * each component separately, ignores edges between components and skips
+ * components too small to hold a cycle of 3 vertices. the components are
+ * independent, so in parallel mode they are searched on the common fork join
+ * pool. results are merged in component order either way, so both modes report
+ * the same cycles in the same order
+ */
 public class DFSCycleDetector {
+
+	// graphs with at least this many vertices are searched in parallel by default
+	public static final int PARALLEL_THRESHOLD = 10_000;
+
 	private boolean[] marked;
 	private boolean[] onStack;
 	private List<List<Vertex>> cycles;
-	private HashMap<Integer, Vertex> indexToVertex;
-	private HashMap<Vertex, Integer> vertexToIndex;
-	private Graph graph;
+	private IndexedGraph view; // id-based view of the graph
 	private int[] edgeTo;
+	private int[] next; // next[v] = next outgoing slot of v to look at
+	private StronglyConnectedComponents scc; // components of the graph
+	private Thread caller; // thread that started the search, checked for cancellation
 
 	/**
-	 * Allows us to highlight different cycles in a graph
+	 * Allows us to highlight different cycles in a graph, large graphs are
+	 * searched in parallel
 	 * 
 	 * @param graph
 	 */
-	public DFSCycleDetector(Graph graph) {
-		this.graph = graph;
-		cycles = new ArrayList<>();
-
-		// set up conversion maps like in BFS adapter
-		vertexToIndex = new HashMap<>();
-		indexToVertex = new HashMap<>();
-
-		List<Vertex> vertices = graph.getVertices();
-		for (int i = 0; i < vertices.size(); i++) {
-			vertexToIndex.put(vertices.get(i), i);
-			indexToVertex.put(i, vertices.get(i));
-		}
+	public DFSCycleDetector(IndexedGraphSource graph) {
+		this(graph, graph.getIndexedView().V() >= PARALLEL_THRESHOLD);
+	}
 
-		// initialize arrays
-		int n = vertices.size();
+	/**
+	 * Allows us to highlight different cycles in a graph
+	 * 
+	 * @param graph
+	 * @param parallel whether to search the components on the common fork join
+	 *                 pool
+	 */
+	public DFSCycleDetector(IndexedGraphSource graph, boolean parallel) {
+		// vertex ids double as array indices
+		view = graph.getIndexedView();
+		caller = Thread.currentThread();
+
+		// initialize arrays, every component only touches the entries of its own
+		// vertices so the searches can share them
+		int n = view.V();
 		marked = new boolean[n];
 		onStack = new boolean[n];
 		edgeTo = new int[n];
+		next = new int[n];
 
-		// run DFS from each unmarked vertex
-		for (int v = 0; v < n; v++) {
-			if (!marked[v]) {
-				dfs(v);
-			}
+		// run DFS from each unmarked vertex, one component at a time
+		scc = new StronglyConnectedComponents(view);
+		IntStream components = IntStream.range(0, scc.count()).filter(c -> scc.size(c) >= 3);
+		if (parallel) {
+			components = components.parallel();
+		}
+		List<List<List<Vertex>>> found = components.mapToObj(c -> new ComponentSearch(c).run())
+				.collect(Collectors.toList());
 
+		cycles = new ArrayList<>();
+		for (List<List<Vertex>> componentCycles : found) {
+			cycles.addAll(componentCycles);
 		}
 	}
 
-	private void dfs(int v) {
-		onStack[v] = true;
-		marked[v] = true;
+	/**
+	 * getter for the strongly connected components the search ran on
+	 * 
+	 * @return the components
+	 */
+	public StronglyConnectedComponents getComponents() {
+		return scc;
+	}
 
-		for (int w : adj(v)) {
-			// If we've already completely explored this vertex, skip it
-			if (marked[w] && !onStack[w]) {
-				continue;
-			}
+	public List<List<Vertex>> getCycles() {
+		return cycles;
+	}
 
-			// Found new vertex so we recurse
-			if (!marked[w]) {
-				edgeTo[w] = v;
-				dfs(w);
-			}
-			// Found vertex on recursion stack - cycle detected
-			else if (onStack[w]) {
-				// Create a new cycle
-				List<Vertex> cycle = new ArrayList<>();
-
-				// Add vertices in the cycle (from v back to w)
-				for (int x = v; x != w; x = edgeTo[x]) {
-					cycle.add(indexToVertex.get(x));
+	public boolean hasCycle() {
+		return !cycles.isEmpty();
+	}
+
+	// search of one component, holds the state that can not be shared
+	private class ComponentSearch {
+		private final int c; // the component
+		private final int[] stack; // vertex ids on the current DFS path, bottom first
+		private final int[] cycleIds; // buffer for the ids of the cycle being checked
+		private final LongHashSet cycleKeys = new LongHashSet(); // canonical keys found so far
+		private final List<List<Vertex>> found = new ArrayList<>();
+		private int steps; // loop turns, to check for cancellation now and then
+
+		ComponentSearch(int c) {
+			this.c = c;
+			stack = new int[scc.size(c)];
+			cycleIds = new int[scc.size(c)];
+		}
+
+		// run DFS from each unmarked vertex of the component
+		List<List<Vertex>> run() {
+			for (int i = scc.memberBegin(c); i < scc.memberEnd(c); i++) {
+				int v = scc.member(i);
+				if (!marked[v]) {
+					dfs(v);
 				}
+			}
+			return found;
+		}
 
-				// Add w to close the cycle
-				cycle.add(indexToVertex.get(w));
+		// depth first search from root that stays inside the component
+		private void dfs(int root) {
+			int top = 0;
+			push(root, top++);
 
-				// A true cycle needs at least 3 vertices
-				if (cycle.size() < 3) {
+			while (top > 0) {
+				if ((++steps & 1023) == 0) {
+					AlgorithmRunner.checkCancelled(caller);
+				}
+				int v = stack[top - 1];
+
+				// All edges explored, so v leaves the path
+				if (next[v] == view.outEnd(v)) {
+					onStack[v] = false;
+					top--;
 					continue;
 				}
 
-				// Validate the cycle - make sure all edges exist
-				boolean validCycle = true;
-				for (int i = 0; i < cycle.size() - 1; i++) {
-					Vertex from = cycle.get(i);
-					Vertex to = cycle.get(i + 1);
-					if (graph.findEdge(from, to) == null) {
-						validCycle = false;
-						break;
-					}
+				int w = view.target(next[v]++);
+
+				// An edge to another component can not lead back to the path
+				if (scc.id(w) != c) {
+					continue;
 				}
 
-				// Check the closing edge from last vertex back to first
-				Vertex last = cycle.get(cycle.size() - 1);
-				Vertex first = cycle.get(0);
-				if (graph.findEdge(last, first) == null) {
-					validCycle = false;
+				// If we've already completely explored this vertex, skip it
+				if (marked[w] && !onStack[w]) {
+					continue;
 				}
 
-				// Only add valid cycles and avoid duplicates
-				if (validCycle && !containsSameCycle(cycles, cycle)) {
-					System.out.println("Found valid cycle:");
-					for (Vertex vtx : cycle) {
-						System.out.println(" - " + vtx.getLabel());
-					}
-					cycles.add(cycle);
+				// Found new vertex so we descend into it
+				if (!marked[w]) {
+					edgeTo[w] = v;
+					push(w, top++);
+				}
+				// Found vertex on the path - cycle detected
+				else {
+					addCycle(v, w);
 				}
 			}
 		}
 
-		onStack[v] = false;
-	}
-
-	// Helper method to check if we already have this cycle
-	private boolean containsSameCycle(List<List<Vertex>> cycles, List<Vertex> newCycle) {
-		// Sort vertex labels for comparison
-		Set<String> newCycleLabels = new HashSet<>();
-		for (Vertex v : newCycle) {
-			newCycleLabels.add(v.getLabel());
+		// put a vertex on top of the path and start at its first edge
+		private void push(int v, int top) {
+			stack[top] = v;
+			onStack[v] = true;
+			marked[v] = true;
+			next[v] = view.outBegin(v);
 		}
 
-		for (List<Vertex> existingCycle : cycles) {
-			// Quick size check first
-			if (existingCycle.size() != newCycle.size()) {
-				continue;
+		// record the cycle closed by the edge from v back to w, which is on the path
+		private void addCycle(int v, int w) {
+			// A true cycle needs at least 3 vertices, count them before building a
+			// list since every tree edge of an undirected graph closes a 2-cycle
+			int length = 1;
+			for (int x = v; x != w; x = edgeTo[x]) {
+				length++;
 			}
-
-			// Check if they contain the same vertices
-			Set<String> existingLabels = new HashSet<>();
-			for (Vertex v : existingCycle) {
-				existingLabels.add(v.getLabel());
+			if (length < 3) {
+				return;
 			}
 
-			if (existingLabels.equals(newCycleLabels)) {
-				return true; // Found a duplicate
+			// Collect the ids in the order the edges run, walking from v back to w
+			// fills the buffer from the end so it reads w ... edgeTo[v], v
+			int k = length;
+			int i = k;
+			for (int x = v; x != w; x = edgeTo[x]) {
+				cycleIds[--i] = x;
 			}
-		}
-		return false;
-	}
+			cycleIds[0] = w;
 
-	private Iterable<Integer> adj(int v) {
-		Vertex vertex = indexToVertex.get(v);
-		List<Vertex> adj = graph.getAdjacentVertices(vertex);
-		List<Integer> vertexIndices = new ArrayList<>();
+			// Validate the cycle - make sure all edges exist, including the closing
+			// edge from v back to w
+			for (i = 0; i < k; i++) {
+				if (!view.hasEdge(cycleIds[i], cycleIds[(i + 1) % k])) {
+					return;
+				}
+			}
 
-		for (Vertex vert : adj) {
-			vertexIndices.add(vertexToIndex.get(vert));
+			// Only add cycles we have not seen in any rotation, or in either direction
+			// when the graph is undirected. the ids are in edge order so a directed
+			// key describes the cycle as it was traversed
+			if (!cycleKeys.add(CycleKey.of(cycleIds, k, !view.isDirected()))) {
+				return;
+			}
 
+			List<Vertex> cycle = new ArrayList<>(k);
+			for (i = 0; i < k; i++) {
+				cycle.add(view.vertex(cycleIds[i]));
+			}
+			found.add(cycle);
 		}
-
-		return vertexIndices;
-
 	}
-
-	public List<List<Vertex>> getCycles() {
-		return cycles;
-	}
-
-	public boolean hasCycle() {
-		return !cycles.isEmpty();
-	}
-
 }
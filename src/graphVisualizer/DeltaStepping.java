@@ -0,0 +1,374 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * single source shortest paths by delta-stepping. vertices are kept in buckets
+ * of width delta by tentative distance, and all vertices of the lowest bucket
+ * relax their edges at the same time on the common fork join pool. distances
+ * live in an atomic array as the bits of a double, since for non-negative
+ * doubles the bits order the same way as the values, so a compare and set loop
+ * keeps the smaller distance.
+ *
+ * light edges (weight at most delta) can put vertices back into the bucket
+ * being emptied so they are relaxed again until it stays empty, heavy edges can
+ * only reach later buckets so they are relaxed once per bucket. predecessors
+ * are picked afterwards among the edges that are tight on the final distances.
+ *
+ * small graphs, graphs with negative weights and machines with a single
+ * processor are handed to a sequential {@link DijkstraAdapter}
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class DeltaStepping {
+
+	// graphs with fewer edge slots than this run Dijkstra's algorithm instead
+	public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 100_000;
+
+	// frontiers smaller than this are relaxed on the calling thread
+	private static final int PARALLEL_GRAIN = 256;
+
+	private IndexedGraphSource graph;
+	private DijkstraAdapter dijkstra; // sequential fallback
+	private IndexedGraph view; // id-based view of the graph for the current run
+	private double delta; // bucket width, 0 picks one from the graph
+	private int sequentialThreshold = DEFAULT_SEQUENTIAL_THRESHOLD;
+
+	private AtomicLongArray dist = new AtomicLongArray(0); // bits of the tentative distance of each vertex
+	private AtomicIntegerArray stamp = new AtomicIntegerArray(0); // stamp[v] = last phase that queued v
+	private int phase; // stamps of the current phase
+	private int[] changed = new int[0]; // vertices whose distance dropped in the current phase
+	private AtomicInteger changedCount = new AtomicInteger();
+	private int[] settledIn = new int[0]; // settledIn[v] = last bucket, counted from 1, that settled v
+
+	// metrics of the last run
+	private boolean ranParallel;
+	private double lastDelta;
+	private int bucketCount;
+	private int phaseCount;
+
+	/**
+	 * constructor that takes the graph to search, keep the engine around to reuse
+	 * its arrays
+	 *
+	 * @param graph
+	 */
+	public DeltaStepping(IndexedGraphSource graph) {
+		this.graph = graph;
+		this.dijkstra = new DijkstraAdapter(graph);
+	}
+
+	/**
+	 * setter method for the bucket width. a small delta does little extra work
+	 * but has few vertices per bucket to share between threads, a large delta
+	 * the other way around
+	 *
+	 * @param delta a positive width, or 0 to derive it from the graph on each run
+	 */
+	public void setDelta(double delta) {
+		if (!(delta >= 0) || Double.isInfinite(delta))
+			throw new IllegalArgumentException("delta must be finite and not negative: " + delta);
+		this.delta = delta;
+	}
+
+	/**
+	 * getter method for the bucket width
+	 *
+	 * @return the width, 0 when it is derived from the graph
+	 */
+	public double getDelta() {
+		return delta;
+	}
+
+	/**
+	 * setter method for the size below which Dijkstra's algorithm is used
+	 *
+	 * @param edges number of edge slots, 0 to always run in parallel
+	 */
+	public void setSequentialThreshold(int edges) {
+		this.sequentialThreshold = edges;
+	}
+
+	/**
+	 * getter method for the size below which Dijkstra's algorithm is used
+	 *
+	 * @return number of edge slots
+	 */
+	public int getSequentialThreshold() {
+		return sequentialThreshold;
+	}
+
+	/**
+	 * computes the shortest paths from a vertex to every other vertex
+	 *
+	 * @param start id of the source vertex
+	 * @return the shortest path tree, named "Dijkstra" since it is the same tree
+	 *         up to ties between equally short paths
+	 */
+	public ShortestPathTree run(int start) {
+		view = graph.getIndexedView();
+		int n = view.V();
+		if (start < 0 || start >= n)
+			throw new IllegalArgumentException("vertex " + start + " is not between 0 and " + (n - 1));
+
+		bucketCount = 0;
+		phaseCount = 0;
+		ranParallel = false;
+		lastDelta = 0;
+
+		double minWeight = Double.POSITIVE_INFINITY;
+		double maxWeight = 0;
+		for (int e = 0; e < view.E(); e++) {
+			minWeight = Math.min(minWeight, view.weight(e));
+			maxWeight = Math.max(maxWeight, view.weight(e));
+		}
+
+		// negative weights break the ordering of the distance bits, and a single
+		// processor only pays for the buckets without sharing the work
+		if (view.E() < sequentialThreshold || minWeight < 0 || Runtime.getRuntime().availableProcessors() < 2) {
+			dijkstra.dijkstra(start);
+			return dijkstra.getTree(start);
+		}
+
+		ranParallel = true;
+		lastDelta = delta > 0 ? delta : Math.max(maxWeight * n / view.E(), minWeight);
+		if (!(lastDelta > 0)) {
+			lastDelta = 1; // every weight is 0, a single bucket does
+		}
+		deltaStep(start, n);
+
+		// copy the distances out and pick predecessors
+		double[] distTo = new double[n];
+		IntStream.range(0, n).parallel().forEach(v -> distTo[v] = Double.longBitsToDouble(dist.get(v)));
+		int[] edgeTo = buildEdgeTo(start, distTo);
+		return new ShortestPathTree("Dijkstra", start, view, edgeTo, distTo);
+	}
+
+	// runs the buckets in order until none are left
+	private void deltaStep(int start, int n) {
+		if (dist.length() < n) {
+			dist = new AtomicLongArray(n);
+			stamp = new AtomicIntegerArray(n);
+			changed = new int[n];
+			settledIn = new int[n];
+			phase = 0;
+		}
+		long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+		IntStream.range(0, n).parallel().forEach(v -> dist.set(v, infinity));
+		Arrays.fill(settledIn, 0, n, 0);
+		dist.set(start, Double.doubleToLongBits(0.0));
+
+		// bucket index -> vertices that were put in it, some of them may have moved
+		// to a lower bucket since or be in it twice
+		TreeMap<Long, IntBag> buckets = new TreeMap<>();
+		buckets.computeIfAbsent(0L, b -> new IntBag()).add(start);
+
+		IntBag settled = new IntBag(); // vertices emptied from the current bucket
+		while (!buckets.isEmpty()) {
+			AlgorithmRunner.checkCancelled();
+			Map.Entry<Long, IntBag> first = buckets.pollFirstEntry();
+			long bucket = first.getKey();
+			bucketCount++;
+			settled.clear();
+
+			// keep the vertices that are still in this bucket, once each
+			IntBag frontier = new IntBag();
+			IntBag filed = first.getValue();
+			for (int i = 0; i < filed.size; i++) {
+				int v = filed.items[i];
+				if (bucketOf(v) == bucket && settledIn[v] != bucketCount) {
+					settledIn[v] = bucketCount;
+					settled.add(v);
+					frontier.add(v);
+				}
+			}
+
+			// relax light edges until the bucket stays empty, a vertex whose distance
+			// drops again is relaxed again
+			while (frontier.size > 0) {
+				relaxAll(frontier.items, frontier.size, true);
+				frontier.clear();
+				bucketChanged(buckets, bucket, frontier);
+				for (int i = 0; i < frontier.size; i++) {
+					int v = frontier.items[i];
+					if (settledIn[v] != bucketCount) {
+						settledIn[v] = bucketCount;
+						settled.add(v);
+					}
+				}
+			}
+
+			// heavy edges of everything settled in this bucket reach later buckets only
+			relaxAll(settled.items, settled.size, false);
+			bucketChanged(buckets, bucket, null);
+		}
+	}
+
+	// relaxes the light or heavy edges of the given vertices, the ones whose
+	// distance drops are collected in changed
+	private void relaxAll(int[] vertices, int size, boolean light) {
+		phaseCount++;
+		if (++phase == Integer.MAX_VALUE) {
+			for (int v = 0; v < stamp.length(); v++) {
+				stamp.set(v, 0);
+			}
+			phase = 1;
+		}
+		changedCount.set(0);
+		IntStream range = IntStream.range(0, size);
+		if (size >= PARALLEL_GRAIN) {
+			range = range.parallel();
+		}
+		int p = phase;
+		range.forEach(i -> relax(vertices[i], light, p));
+	}
+
+	// relaxes the light or heavy edges of one vertex
+	private void relax(int v, boolean light, int p) {
+		double dv = Double.longBitsToDouble(dist.get(v));
+		for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+			double weight = view.weight(e);
+			if ((weight <= lastDelta) != light) {
+				continue;
+			}
+			int w = view.target(e);
+			long candidate = Double.doubleToLongBits(dv + weight);
+			long current = dist.get(w);
+			while (candidate < current) {
+				if (dist.compareAndSet(w, current, candidate)) {
+					if (stamp.getAndSet(w, p) != p) {
+						changed[changedCount.getAndIncrement()] = w;
+					}
+					break;
+				}
+				current = dist.get(w);
+			}
+		}
+	}
+
+	// files the vertices changed in the last phase into their buckets, the ones
+	// that fall into the current bucket go into frontier instead
+	private void bucketChanged(TreeMap<Long, IntBag> buckets, long bucket, IntBag frontier) {
+		int count = changedCount.get();
+		for (int i = 0; i < count; i++) {
+			int w = changed[i];
+			long b = bucketOf(w);
+			if (b == bucket && frontier != null) {
+				frontier.add(w);
+			} else {
+				buckets.computeIfAbsent(b, k -> new IntBag()).add(w);
+			}
+		}
+	}
+
+	private long bucketOf(int v) {
+		return (long) (Double.longBitsToDouble(dist.get(v)) / lastDelta);
+	}
+
+	// picks for every reached vertex an in-edge that is tight on the final
+	// distances. edges of weight 0 could close a loop of predecessors, so those
+	// vertices are left to a search along tight edges of weight 0
+	private int[] buildEdgeTo(int start, double[] distTo) {
+		int n = view.V();
+		int[] edgeTo = new int[n];
+		boolean[] resolved = new boolean[n];
+		resolved[start] = true;
+		IntStream.range(0, n).parallel().forEach(w -> {
+			if (w == start || distTo[w] == Double.POSITIVE_INFINITY) {
+				return;
+			}
+			for (int e = view.inBegin(w); e < view.inEnd(w); e++) {
+				double weight = view.inWeight(e);
+				int v = view.source(e);
+				if (weight > 0 && distTo[v] + weight == distTo[w]) {
+					edgeTo[w] = v;
+					resolved[w] = true;
+					return;
+				}
+			}
+		});
+
+		int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		for (int v = 0; v < n; v++) {
+			if (resolved[v]) {
+				queue[tail++] = v;
+			}
+		}
+		while (head < tail) {
+			int v = queue[head++];
+			for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+				int w = view.target(e);
+				if (!resolved[w] && view.weight(e) == 0 && distTo[v] == distTo[w]) {
+					edgeTo[w] = v;
+					resolved[w] = true;
+					queue[tail++] = w;
+				}
+			}
+		}
+		return edgeTo;
+	}
+
+	/**
+	 * returns whether the last run used delta-stepping rather than falling back to
+	 * Dijkstra's algorithm
+	 *
+	 * @return {@code true} if the last run was parallel
+	 */
+	public boolean ranParallel() {
+		return ranParallel;
+	}
+
+	/**
+	 * returns the bucket width the last parallel run used
+	 *
+	 * @return the width, 0 if the last run fell back to Dijkstra's algorithm
+	 */
+	public double getLastDelta() {
+		return lastDelta;
+	}
+
+	/**
+	 * returns how many buckets the last run emptied
+	 *
+	 * @return the number of buckets
+	 */
+	public int getBucketCount() {
+		return bucketCount;
+	}
+
+	/**
+	 * returns how many rounds of relaxations the last run made, each one relaxes
+	 * a whole frontier in parallel
+	 *
+	 * @return the number of rounds
+	 */
+	public int getPhaseCount() {
+		return phaseCount;
+	}
+
+	// growable list of vertex ids
+	private static class IntBag {
+		private int[] items = new int[8];
+		private int size;
+
+		void add(int v) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size * 2);
+			}
+			items[size++] = v;
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+	}
+}
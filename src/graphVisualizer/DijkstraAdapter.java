@@ -3,46 +3,78 @@ package graphVisualizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
 
 /**
- * Adapter class for Dijkstra's algorithm
+ * Adapter class for Dijkstra's algorithm, the priority queue is an indexed
+ * d-ary heap whose arity can be chosen per run. the arrays and the heap are
+ * kept between runs and only grow when the graph does
  * 
  * @author Lincoln Bunker & Carson Emery
  */
 public class DijkstraAdapter {
 
-	private Graph graph;
-	private HashMap<Integer, Vertex> indexToVertex; // to convert indices to vertex objects
-	private HashMap<Vertex, Integer> vertexToIndex; // to convert vertex objects to indices
+	public static final int DEFAULT_HEAP_ARITY = 4;
+
+	private IndexedGraphSource graph;
+	private IndexedGraph view; // id-based view of the graph for the current run
 	private double[] distTo; // distTo[v] = distance of shortest s->v path
 	private int[] edgeTo; // edgeTo[v] = last edge on shortest s->v path
 	private boolean[] visited; // keeps track of processed vertices
 	private double pathDistance;
+	private IndexDaryMinPQ pq; // vertex ids keyed by their tentative distance
+
+	/**
+	 * Constructor for the adapter, vertices are addressed by the ids the graph
+	 * assigns them
+	 * 
+	 * @param graph the graph to run Dijkstra's algorithm on
+	 */
+	public DijkstraAdapter(IndexedGraphSource graph) {
+		this(graph, DEFAULT_HEAP_ARITY);
+	}
 
 	/**
-	 * Constructor initializes the maps for vertex-index conversion
+	 * Constructor for the adapter with a chosen heap arity
 	 * 
 	 * @param graph the graph to run Dijkstra's algorithm on
+	 * @param arity children per heap node, 2 for a binary heap, 4 for a 4-ary heap
 	 */
-	public DijkstraAdapter(Graph graph) {
+	public DijkstraAdapter(IndexedGraphSource graph, int arity) {
 		this.graph = graph;
-//		this.pathDistance = pathDistance;
-		this.distTo = new double[graph.getVertices().size()];
-//		Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+		this.distTo = new double[0];
+		this.edgeTo = new int[0];
+		this.visited = new boolean[0];
+		this.pq = new IndexDaryMinPQ(arity, 0);
+	}
 
-		vertexToIndex = new HashMap<>();
-		indexToVertex = new HashMap<>();
+	/**
+	 * sets the heap arity used by the following runs
+	 * 
+	 * @param arity children per heap node, at least 2
+	 */
+	public void setHeapArity(int arity) {
+		if (arity != pq.getArity()) {
+			pq = new IndexDaryMinPQ(arity, 0);
+		}
+	}
 
-		List<Vertex> vertices = graph.getVertices();
+	/**
+	 * getter for the heap arity
+	 * 
+	 * @return children per heap node
+	 */
+	public int getHeapArity() {
+		return pq.getArity();
+	}
 
-		for (int i = 0; i < vertices.size(); i++) {
-			vertexToIndex.put(vertices.get(i), i);
-			indexToVertex.put(i, vertices.get(i));
-		}
+	/**
+	 * returns the number of heap key comparisons the last run made
+	 * 
+	 * @return the comparison count
+	 */
+	public long getHeapComparisonCount() {
+		return pq.getComparisonCount();
 	}
 
 	/**
@@ -54,9 +86,9 @@ public class DijkstraAdapter {
 	 *         exists
 	 */
 	public List<Vertex> findShortestPath(Vertex start, Vertex end) {
-		// convert start and end vertex to indices
-		int startIndex = vertexToIndex.get(start);
-		int endIndex = vertexToIndex.get(end);
+		// vertex ids double as array indices
+		int startIndex = start.getId();
+		int endIndex = end.getId();
 
 		// run Dijkstra's algorithm
 		dijkstra(startIndex);
@@ -71,11 +103,11 @@ public class DijkstraAdapter {
 
 		// start from the end index and work backward
 		for (int i = endIndex; i != startIndex; i = edgeTo[i]) {
-			path.add(indexToVertex.get(i));
+			path.add(view.vertex(i));
 		}
 
 		// add the start vertex at the end
-		path.add(indexToVertex.get(startIndex));
+		path.add(view.vertex(startIndex));
 
 		// reverse the path
 		Collections.reverse(path);
@@ -88,86 +120,80 @@ public class DijkstraAdapter {
 	 * 
 	 * @param start index of the starting vertex
 	 */
-	private void dijkstra(int start) {
-	    int n = vertexToIndex.size();
-
-	    // Initialize arrays
-//	    distTo = new double[n];
-	    edgeTo = new int[n];
-	    visited = new boolean[n];
+	public void dijkstra(int start) {
+	    view = graph.getIndexedView();
+	    int n = view.V();
+
+	    // Reuse the arrays from the previous run unless the graph grew
+	    if (distTo.length < n) {
+	        distTo = new double[n];
+	        edgeTo = new int[n];
+	        visited = new boolean[n];
+	    }
 
 	    // Set all distances to infinity initially
-	    Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+	    Arrays.fill(distTo, 0, n, Double.POSITIVE_INFINITY);
+	    Arrays.fill(visited, 0, n, false);
 	    distTo[start] = 0.0;
 
-	    // Create priority queue with custom comparator to order by distance
-	    PriorityQueue<Integer> pq = new PriorityQueue<>((v, w) -> Double.compare(distTo[v], distTo[w]));
-	    pq.add(start);
+	    // Each vertex is on the heap at most once, improvements lower its key in place
+	    pq.reset(n);
+	    pq.insert(start, 0.0);
 
+	    int settled = 0;
 	    while (!pq.isEmpty()) {
-	        int v = pq.poll();
-	        System.out.println("Processing vertex: " + v); // Debug
+	        // Stop if the run was cancelled
+	        if ((++settled & 1023) == 0)
+	            AlgorithmRunner.checkCancelled();
 
-	        // Skip if we've already processed this vertex
-	        if (visited[v])
-	            continue;
+	        int v = pq.delMin();
 	        visited[v] = true;
 
-	        // Process each adjacent vertex
-	        for (int w : adj(v)) {
-	            // Get the edge between v and w
-	            Edge e = findEdge(v, w);
-	            if (e == null)
+	        // Process each outgoing edge
+	        for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+	            int w = view.target(e);
+
+	            // A processed vertex already has its final distance
+	            if (visited[w])
 	                continue;
 
 	            // Edge relaxation: if we found a shorter path to w through v
-	            double weight = e.getWeight();         
-	   
+	            double weight = view.weight(e);
+
 	            if (distTo[w] > distTo[v] + weight) {
 	                distTo[w] = distTo[v] + weight;
 	                edgeTo[w] = v;
 
 	                // Add or update in priority queue
-	                pq.add(w);
+	                if (pq.contains(w))
+	                    pq.decreaseKey(w, distTo[w]);
+	                else
+	                    pq.insert(w, distTo[w]);
 	            }
 	        }
 	    }
-	    double weightFinal = distTo[distTo.length - 1];
-//	    return weightFinal;
 	}
-	
-//	public void weightFinal() {
-//		dijkstra(start);
-//	}
-
 
 	/**
-	 * Finds the edge between two vertices given their indices
+	 * Returns the length of a shortest path from the start vertex of the last run
+	 * to vertex {@code v}
 	 * 
-	 * @param v from vertex index
-	 * @param w to vertex index
-	 * @return the Edge object or null if no edge exists
+	 * @param v id of the vertex
+	 * @return the distance, or {@code Double.POSITIVE_INFINITY} if there is no path
 	 */
-	private Edge findEdge(int v, int w) {
-		Vertex from = indexToVertex.get(v);
-		Vertex to = indexToVertex.get(w);
-		return graph.findEdge(from, to);
+	public double distTo(int v) {
+		return distTo[v];
 	}
 
 	/**
-	 * Gets all adjacent vertices as indices
+	 * copies the result of the last run into a shortest path tree
 	 * 
-	 * @param v the vertex index
-	 * @return list of adjacent vertex indices
+	 * @param start index of the starting vertex of the last run
+	 * @return the tree
 	 */
-	private Iterable<Integer> adj(int v) {
-		Vertex vertex = indexToVertex.get(v);
-		List<Vertex> adj = graph.getAdjacentVertices(vertex);
-		List<Integer> vertexIndices = new ArrayList<>();
-		for (Vertex vert : adj) {
-			vertexIndices.add(vertexToIndex.get(vert));
-		}
-		return vertexIndices;
+	public ShortestPathTree getTree(int start) {
+		int n = view.V();
+		return new ShortestPathTree("Dijkstra", start, view, Arrays.copyOf(edgeTo, n), Arrays.copyOf(distTo, n));
 	}
 
 	/**
@@ -177,8 +203,6 @@ public class DijkstraAdapter {
 	 * @return the total distance to the vertex
 	 */
 	public double getPathDistance(Vertex end) {
-		int endIndex = vertexToIndex.get(end);
-		System.out.println(end.getLabel());
-		return distTo[endIndex];
+		return distTo[end.getId()];
 	}
 }
\ No newline at end of file
@@ -0,0 +1,345 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+
+/**
+ * breadth first search that switches between pushing from the frontier (top
+ * down) and letting unvisited vertices look for a parent on the frontier (bottom
+ * up). on low diameter graphs the middle levels hold most of the graph, a top
+ * down step then looks at nearly every edge while a bottom up step can stop at
+ * the first parent it finds.
+ *
+ * a top down step switches to bottom up once the edges leaving the frontier are
+ * more than 1/alpha of the edges leaving unvisited vertices, and a bottom up
+ * step switches back once the frontier shrinks below 1/beta of the vertices.
+ * frontiers and the visited set are bitsets, the arrays are kept between runs
+ * like in {@link BFSAdapter}
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class DirectionOptimizingBFS {
+
+	public static final double DEFAULT_ALPHA = 14;
+	public static final double DEFAULT_BETA = 24;
+
+	private static final int INFINITY = Integer.MAX_VALUE;
+
+	private double alpha = DEFAULT_ALPHA;
+	private double beta = DEFAULT_BETA;
+
+	private long[] visited = new long[0]; // bit v = v has been reached
+	private long[] frontier = new long[0]; // bit v = v was reached on the current level
+	private long[] next = new long[0]; // bit v = v was reached on the level being built
+	private int[] edgeTo = new int[0]; // edgeTo[v] = previous vertex on shortest s-v path
+	private int[] distTo = new int[0]; // distTo[v] = number of edges shortest s-v path
+	private IndexedGraphSource graph;
+	private IndexedGraph view; // id-based view of the graph for the current run
+
+	// metrics of the last run
+	private int levels;
+	private int topDownLevels;
+	private int bottomUpLevels;
+	private int directionSwitches;
+	private long edgesExamined;
+	private int visitedCount;
+
+	/**
+	 * constructor that takes the graph to search, keep the engine around to reuse
+	 * its arrays
+	 *
+	 * @param graph
+	 */
+	public DirectionOptimizingBFS(IndexedGraphSource graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * setter method for alpha, a larger alpha switches to bottom up sooner
+	 *
+	 * @param alpha a positive threshold
+	 */
+	public void setAlpha(double alpha) {
+		if (!(alpha > 0))
+			throw new IllegalArgumentException("alpha must be positive: " + alpha);
+		this.alpha = alpha;
+	}
+
+	/**
+	 * getter method for alpha
+	 *
+	 * @return
+	 */
+	public double getAlpha() {
+		return alpha;
+	}
+
+	/**
+	 * setter method for beta, a larger beta stays bottom up longer
+	 *
+	 * @param beta a positive threshold
+	 */
+	public void setBeta(double beta) {
+		if (!(beta > 0))
+			throw new IllegalArgumentException("beta must be positive: " + beta);
+		this.beta = beta;
+	}
+
+	/**
+	 * getter method for beta
+	 *
+	 * @return
+	 */
+	public double getBeta() {
+		return beta;
+	}
+
+	/**
+	 * breadth-first search that visits everything reachable from the start vertex
+	 *
+	 * @param startIndex id of the start vertex
+	 */
+	public void bfs(int startIndex) {
+		view = graph.getIndexedView();
+		int n = view.V();
+		validateVertex(startIndex);
+
+		// reuse the arrays from the previous run unless the graph grew
+		int words = (n + 63) >>> 6;
+		if (edgeTo.length < n) {
+			edgeTo = new int[n];
+			distTo = new int[n];
+		}
+		if (visited.length < words) {
+			visited = new long[words];
+			frontier = new long[words];
+			next = new long[words];
+		}
+		Arrays.fill(visited, 0, words, 0);
+		Arrays.fill(frontier, 0, words, 0);
+		Arrays.fill(next, 0, words, 0);
+		Arrays.fill(distTo, 0, n, INFINITY);
+
+		levels = 0;
+		topDownLevels = 0;
+		bottomUpLevels = 0;
+		directionSwitches = 0;
+		edgesExamined = 0;
+
+		set(visited, startIndex);
+		set(frontier, startIndex);
+		distTo[startIndex] = 0;
+		visitedCount = 1;
+
+		int frontierSize = 1;
+		long frontierEdges = view.outDegree(startIndex); // edges leaving the frontier
+		long unexploredEdges = view.E() - frontierEdges; // edges leaving unvisited vertices
+		boolean bottomUp = false;
+
+		while (frontierSize > 0) {
+			AlgorithmRunner.checkCancelled();
+
+			// pick the direction of this level
+			if (!bottomUp && frontierEdges > unexploredEdges / alpha) {
+				bottomUp = true;
+				directionSwitches++;
+			} else if (bottomUp && frontierSize < n / beta) {
+				bottomUp = false;
+				directionSwitches++;
+			}
+
+			levels++;
+			int size;
+			if (bottomUp) {
+				bottomUpLevels++;
+				size = bottomUpStep(n, words, levels);
+			} else {
+				topDownLevels++;
+				size = topDownStep(words, levels);
+			}
+
+			// the level just built becomes the frontier
+			long[] t = frontier;
+			frontier = next;
+			next = t;
+			Arrays.fill(next, 0, words, 0);
+
+			frontierEdges = 0;
+			for (int i = 0; i < words; i++) {
+				for (long bits = frontier[i]; bits != 0; bits &= bits - 1) {
+					frontierEdges += view.outDegree((i << 6) + Long.numberOfTrailingZeros(bits));
+				}
+			}
+			unexploredEdges -= frontierEdges;
+			frontierSize = size;
+			visitedCount += size;
+		}
+	}
+
+	// push along the out-edges of every frontier vertex, returns how many vertices
+	// were reached
+	private int topDownStep(int words, int level) {
+		int size = 0;
+		for (int i = 0; i < words; i++) {
+			for (long bits = frontier[i]; bits != 0; bits &= bits - 1) {
+				int v = (i << 6) + Long.numberOfTrailingZeros(bits);
+				for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+					edgesExamined++;
+					int w = view.target(e);
+					if (!get(visited, w)) {
+						set(visited, w);
+						set(next, w);
+						edgeTo[w] = v;
+						distTo[w] = level;
+						size++;
+					}
+				}
+			}
+		}
+		return size;
+	}
+
+	// every unvisited vertex looks through its in-edges for a frontier vertex and
+	// stops at the first one, returns how many vertices were reached
+	private int bottomUpStep(int n, int words, int level) {
+		int size = 0;
+		for (int i = 0; i < words; i++) {
+			long unvisited = ~visited[i];
+			if (i == words - 1 && (n & 63) != 0) {
+				unvisited &= (1L << (n & 63)) - 1;
+			}
+			for (long bits = unvisited; bits != 0; bits &= bits - 1) {
+				int w = (i << 6) + Long.numberOfTrailingZeros(bits);
+				for (int e = view.inBegin(w); e < view.inEnd(w); e++) {
+					edgesExamined++;
+					int v = view.source(e);
+					if (get(frontier, v)) {
+						set(next, w);
+						edgeTo[w] = v;
+						distTo[w] = level;
+						size++;
+						break;
+					}
+				}
+			}
+		}
+
+		// mark afterwards so vertices reached on this level are not used as parents
+		for (int i = 0; i < words; i++) {
+			visited[i] |= next[i];
+		}
+		return size;
+	}
+
+	private static boolean get(long[] bitset, int v) {
+		return (bitset[v >>> 6] & (1L << v)) != 0;
+	}
+
+	private static void set(long[] bitset, int v) {
+		bitset[v >>> 6] |= 1L << v;
+	}
+
+	/**
+	 * copies the result of the last run into a shortest path tree, distances are
+	 * counted in edges
+	 *
+	 * @param startIndex id of the start vertex of the last run
+	 * @return the tree
+	 */
+	public ShortestPathTree getTree(int startIndex) {
+		int n = view.V();
+		double[] dist = new double[n];
+		for (int v = 0; v < n; v++) {
+			dist[v] = distTo[v] == INFINITY ? Double.POSITIVE_INFINITY : distTo[v];
+		}
+		return new ShortestPathTree("BFS", startIndex, view, Arrays.copyOf(edgeTo, n), dist);
+	}
+
+	/**
+	 * Is there a path between the source vertex and vertex {@code v}?
+	 *
+	 * @param v the vertex
+	 * @return {@code true} if there is a path, and {@code false} otherwise
+	 * @throws IllegalArgumentException unless {@code 0 <= v < V}
+	 */
+	public boolean hasPathTo(int v) {
+		validateVertex(v);
+		return distTo[v] != INFINITY;
+	}
+
+	/**
+	 * Returns the number of edges in a shortest path between the source vertex and
+	 * vertex {@code v}
+	 *
+	 * @param v the vertex
+	 * @return the number of edges in such a shortest path (or
+	 *         {@code Integer.MAX_VALUE} if there is no such path)
+	 * @throws IllegalArgumentException unless {@code 0 <= v < V}
+	 */
+	public int distTo(int v) {
+		validateVertex(v);
+		return distTo[v];
+	}
+
+	/**
+	 * returns the number of levels the last run expanded, including the last one
+	 * that found nothing new
+	 *
+	 * @return the number of levels
+	 */
+	public int getLevels() {
+		return levels;
+	}
+
+	/**
+	 * returns how many levels of the last run were expanded top down
+	 *
+	 * @return the number of top down levels
+	 */
+	public int getTopDownLevels() {
+		return topDownLevels;
+	}
+
+	/**
+	 * returns how many levels of the last run were expanded bottom up
+	 *
+	 * @return the number of bottom up levels
+	 */
+	public int getBottomUpLevels() {
+		return bottomUpLevels;
+	}
+
+	/**
+	 * returns how often the last run changed direction
+	 *
+	 * @return the number of switches
+	 */
+	public int getDirectionSwitches() {
+		return directionSwitches;
+	}
+
+	/**
+	 * returns how many edge slots the last run looked at, in either direction.
+	 * compare with {@link IndexedGraph#E()} to see what bottom up steps saved
+	 *
+	 * @return the number of edges examined
+	 */
+	public long getEdgesExamined() {
+		return edgesExamined;
+	}
+
+	/**
+	 * returns how many vertices the last run reached, including the start vertex
+	 *
+	 * @return the number of reached vertices
+	 */
+	public int getVisitedCount() {
+		return visitedCount;
+	}
+
+	// throw an IllegalArgumentException unless {@code 0 <= v < V}
+	private void validateVertex(int v) {
+		int V = view.V();
+		if (v < 0 || v >= V)
+			throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+	}
+}
@@ -0,0 +1,45 @@
+package graphVisualizer;
+
+import java.io.Closeable;
+
+/**
+ * shortest path distances from every vertex to every vertex, row s holds the
+ * distances from the vertex with id s. unreachable pairs are infinite. rows are
+ * written once each and different rows may be written by different threads at
+ * the same time
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public interface DistanceMatrix extends Closeable {
+
+	/**
+	 * getter method for the number of rows
+	 *
+	 * @return the number of source vertices
+	 */
+	int rows();
+
+	/**
+	 * getter method for the number of columns
+	 *
+	 * @return the number of vertices
+	 */
+	int columns();
+
+	/**
+	 * returns the length of a shortest path
+	 *
+	 * @param s id of the source vertex
+	 * @param v id of the vertex
+	 * @return the distance, infinite if v can not be reached
+	 */
+	float get(int s, int v);
+
+	/**
+	 * stores the distances from one source
+	 *
+	 * @param s         id of the source vertex
+	 * @param distances distance to every vertex, at least {@link #columns()} long
+	 */
+	void setRow(int s, float[] distances);
+}
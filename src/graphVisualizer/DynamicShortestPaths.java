@@ -0,0 +1,589 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ * shortest path tree from one source that stays up to date while the graph is
+ * edited, in the spirit of Ramalingam and Reps. it listens to the graph and
+ * repairs only the part of the tree a change can affect:
+ *
+ * - a cheaper or new edge u->v only matters if it shortens the path to v, the
+ * improvement is then pushed outwards from v like in Dijkstra's algorithm
+ *
+ * - a dearer or removed edge only matters if it is the tree edge into v. the
+ * subtree below v loses its distances, each of its vertices takes the best
+ * edge coming in from outside the subtree, and Dijkstra's algorithm finishes
+ * the subtree from there
+ *
+ * - a removed vertex cuts off the subtree below it, which is repaired like the
+ * subtree below a removed edge. the vertex that takes over its id keeps its
+ * distance
+ *
+ * the repairs read the adjacency lists of the graph directly, so they do not
+ * wait for the id-based view to be rebuilt. they are only valid for weights
+ * that are not negative, while the graph has a negative edge every change runs
+ * the whole search again like {@link DijkstraAdapter} would. the same goes for
+ * a removed vertex with a negative edge and for the graph turning directed
+ *
+ * given an {@link AlgorithmRunner} those whole searches run on its thread
+ * instead of inside the edit. the tree is out of date until the search is
+ * back, {@link #isUpToDate()} tells, and a burst of edits meanwhile costs one
+ * more search at most. without a runner they run right away
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class DynamicShortestPaths implements GraphListener {
+
+	private static final double INFINITY = Double.POSITIVE_INFINITY;
+
+	private Graph graph;
+	private Vertex source; // null once the source is removed from the graph
+	private double[] distTo = new double[0]; // distTo[v] = length of the shortest s-v path
+	private Edge[] edgeTo = new Edge[0]; // edgeTo[v] = last edge on the shortest s-v path
+	private IndexDaryMinPQ pq = new IndexDaryMinPQ(DijkstraAdapter.DEFAULT_HEAP_ARITY, 0);
+	private int[] mark = new int[0]; // mark[v] == stamp when v is in the set being worked on
+	private int stamp;
+	private int[] stack = new int[0]; // vertices of the subtree being cut off
+	private int negativeEdges; // edges of the graph with a negative weight
+	private Runnable repairListener; // told after every repair
+	private AlgorithmRunner runner; // runs the full searches, or null to run them in the edit
+	private SwingWorker<ShortestPathTree, Void> pending; // the full search on the runner, if any
+	private boolean stale; // the tree waits for a full search
+	private boolean detached;
+
+	// metrics
+	private int lastRepairSize; // vertices the last change settled again
+	private int fullSearches; // times the whole search was run
+
+	/**
+	 * constructor that runs the first search and then follows the changes to the
+	 * graph until {@link #detach()} is called
+	 *
+	 * @param graph  the graph to search
+	 * @param source the source vertex
+	 */
+	public DynamicShortestPaths(Graph graph, Vertex source) {
+		this(graph, source, null);
+	}
+
+	/**
+	 * constructor that starts from a Dijkstra tree computed elsewhere, e.g. by a
+	 * background run, and then follows the changes to the graph. the tree is only
+	 * used if it was built from the source on the current version of the graph,
+	 * otherwise the first search runs here
+	 *
+	 * @param graph  the graph to search
+	 * @param source the source vertex
+	 * @param seed   a Dijkstra tree from the source, or null
+	 */
+	public DynamicShortestPaths(Graph graph, Vertex source, ShortestPathTree seed) {
+		this(graph, source, seed, null);
+	}
+
+	/**
+	 * like {@link #DynamicShortestPaths(Graph, Vertex, ShortestPathTree)}, but the
+	 * first search and the later full searches run on the runner thread. call on
+	 * the event dispatch thread, the tree is only updated there
+	 *
+	 * @param graph  the graph to search
+	 * @param source the source vertex
+	 * @param seed   a Dijkstra tree from the source, or null
+	 * @param runner runs the full searches, or null to run them right away
+	 */
+	public DynamicShortestPaths(Graph graph, Vertex source, ShortestPathTree seed, AlgorithmRunner runner) {
+		this.graph = graph;
+		this.source = source;
+		this.runner = runner;
+		for (Edge edge : graph.getEdges()) {
+			if (edge.getWeight() < 0) {
+				negativeEdges++;
+			}
+		}
+		if (seed == null || !adopt(seed, false)) {
+			ensureCapacity(graph.getVertices().size());
+			recomputeLater();
+		}
+		graph.addGraphListener(this);
+	}
+
+	/**
+	 * stops following the changes to the graph
+	 */
+	public void detach() {
+		graph.removeGraphListener(this);
+		detached = true;
+		if (pending != null) {
+			pending.cancel(true);
+			pending = null;
+		}
+	}
+
+	/**
+	 * tells whether the tree matches the graph. it does not while a full search
+	 * runs on the runner thread, and then has no paths
+	 *
+	 * @return {@code true} if the tree is up to date
+	 */
+	public boolean isUpToDate() {
+		return !stale;
+	}
+
+	/**
+	 * sets a listener that is run after every change to the graph, once the tree
+	 * has been repaired
+	 *
+	 * @param repairListener the listener, or null for none
+	 */
+	public void setRepairListener(Runnable repairListener) {
+		this.repairListener = repairListener;
+	}
+
+	/**
+	 * getter method for the source vertex
+	 *
+	 * @return the source, or null if it was removed from the graph
+	 */
+	public Vertex getSource() {
+		return source;
+	}
+
+	/**
+	 * is there a path from the source to a vertex
+	 *
+	 * @param v the vertex
+	 * @return {@code true} if there is a path
+	 */
+	public boolean hasPathTo(Vertex v) {
+		return distTo(v) < INFINITY;
+	}
+
+	/**
+	 * returns the length of a shortest path from the source to a vertex
+	 *
+	 * @param v the vertex
+	 * @return the distance, infinite if there is no path
+	 */
+	public double distTo(Vertex v) {
+		int id = v.getId();
+		if (source == null || stale || id < 0 || id >= distTo.length) {
+			return INFINITY;
+		}
+		return distTo[id];
+	}
+
+	/**
+	 * returns a shortest path from the source to a vertex
+	 *
+	 * @param v the vertex
+	 * @return the vertices on the path starting at the source, or null if there is
+	 *         no path
+	 */
+	public List<Vertex> pathTo(Vertex v) {
+		if (!hasPathTo(v)) {
+			return null;
+		}
+		List<Vertex> path = new ArrayList<>();
+		for (Vertex x = v; x != source; x = edgeTo[x.getId()].getFrom()) {
+			path.add(x);
+		}
+		path.add(source);
+		Collections.reverse(path);
+		return path;
+	}
+
+	/**
+	 * returns how many vertices the last change had to settle again, compare it
+	 * with the number of vertices to see what the repair saved
+	 *
+	 * @return the number of vertices
+	 */
+	public int getLastRepairSize() {
+		return lastRepairSize;
+	}
+
+	/**
+	 * returns how many times the whole search was run, including the first time
+	 *
+	 * @return the number of full searches
+	 */
+	public int getFullSearches() {
+		return fullSearches;
+	}
+
+	@Override
+	public void vertexAdded(Vertex vertex) {
+		// a new vertex has no edges yet so it can not be reached
+		ensureCapacity(graph.getVertices().size());
+		distTo[vertex.getId()] = INFINITY;
+		edgeTo[vertex.getId()] = null;
+		lastRepairSize = 0;
+		repaired();
+	}
+
+	@Override
+	public void vertexRemoved(Vertex vertex, int id, List<Edge> edges) {
+		boolean negative = false;
+		for (Edge edge : edges) {
+			if (edge.getWeight() < 0) {
+				negativeEdges--;
+				negative = true;
+			}
+		}
+		if (vertex == source) {
+			source = null;
+		}
+		if (source == null || stale || negative || negativeEdges > 0) {
+			recomputeLater();
+		} else {
+			vertexGotRemoved(vertex, id, edges);
+		}
+		repaired();
+	}
+
+	@Override
+	public void graphCleared() {
+		if (source != null && source.getId() < 0) {
+			source = null;
+		}
+		negativeEdges = 0;
+		for (Edge edge : graph.getEdges()) {
+			if (edge.getWeight() < 0) {
+				negativeEdges++;
+			}
+		}
+		recomputeLater();
+		repaired();
+	}
+
+	@Override
+	public void edgeAdded(Edge edge) {
+		if (edge.getWeight() < 0) {
+			negativeEdges++;
+		}
+		if (stale || negativeEdges > 0) {
+			recomputeLater();
+		} else {
+			edgeGotCheaper(edge);
+		}
+		repaired();
+	}
+
+	@Override
+	public void edgeRemoved(Edge edge) {
+		boolean negative = edge.getWeight() < 0;
+		if (negative) {
+			negativeEdges--;
+		}
+		if (stale || negative || negativeEdges > 0) {
+			recomputeLater();
+		} else {
+			edgeGotDearer(edge);
+		}
+		repaired();
+	}
+
+	@Override
+	public void edgeWeightChanged(Edge edge, double oldWeight) {
+		double weight = edge.getWeight();
+		if (oldWeight < 0) {
+			negativeEdges--;
+		}
+		if (weight < 0) {
+			negativeEdges++;
+		}
+		if (stale || oldWeight < 0 || negativeEdges > 0) {
+			recomputeLater();
+		} else if (weight < oldWeight) {
+			edgeGotCheaper(edge);
+		} else if (weight > oldWeight) {
+			edgeGotDearer(edge);
+		} else {
+			lastRepairSize = 0;
+		}
+		repaired();
+	}
+
+	// an edge appeared or its weight went down, so only paths through it can get
+	// shorter
+	private void edgeGotCheaper(Edge edge) {
+		lastRepairSize = 0;
+		if (source == null) {
+			return;
+		}
+		int u = edge.getFrom().getId();
+		int v = edge.getTo().getId();
+		double d = distTo[u] + edge.getWeight();
+		if (d < distTo[v]) {
+			distTo[v] = d;
+			edgeTo[v] = edge;
+			pq.reset(distTo.length);
+			pq.insert(v, d);
+			settle(false);
+		}
+	}
+
+	// an edge went away or its weight went up, which only matters if it is the
+	// tree edge into its head
+	private void edgeGotDearer(Edge edge) {
+		lastRepairSize = 0;
+		if (source == null) {
+			return;
+		}
+		int v = edge.getTo().getId();
+		if (edgeTo[v] != edge) {
+			return;
+		}
+		nextStamp();
+		stack[0] = v;
+		mark[v] = stamp;
+		cutSubtrees(1);
+	}
+
+	// a vertex went away with its edges. the arrays still use the ids from before,
+	// when the vertex with the highest id had not moved into the freed id yet
+	private void vertexGotRemoved(Vertex vertex, int id, List<Edge> edges) {
+		lastRepairSize = 0;
+		int moved = graph.getVertices().size(); // id the moved vertex had
+
+		// the heads of the tree edges out of the removed vertex lost their path
+		nextStamp();
+		int roots = 0;
+		for (Edge edge : edges) {
+			Vertex w = edge.getTo();
+			if (w != vertex && edgeTo[w.getId() == id ? moved : w.getId()] == edge) {
+				stack[roots++] = w.getId();
+			}
+		}
+
+		// the moved vertex takes its distance along to its new id
+		if (id < moved) {
+			distTo[id] = distTo[moved];
+			edgeTo[id] = edgeTo[moved];
+		}
+		distTo[moved] = INFINITY;
+		edgeTo[moved] = null;
+		for (int i = 0; i < roots; i++) {
+			mark[stack[i]] = stamp;
+		}
+		cutSubtrees(roots);
+	}
+
+	// the vertices on the stack are marked and lost the tree edge into them. every
+	// path to the subtrees below them went through those edges, so the subtrees
+	// lose their distances and are settled again from the edges coming in from
+	// outside them
+	private void cutSubtrees(int roots) {
+		// collect the subtrees
+		List<Vertex> vertices = graph.getVertices();
+		int size = roots;
+		for (int i = 0; i < size; i++) {
+			for (Edge e : graph.getOutEdges(vertices.get(stack[i]))) {
+				int w = e.getTo().getId();
+				if (edgeTo[w] == e && mark[w] != stamp) {
+					mark[w] = stamp;
+					stack[size++] = w;
+				}
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			distTo[stack[i]] = INFINITY;
+			edgeTo[stack[i]] = null;
+		}
+
+		// each vertex of a subtree starts from its best edge from outside them
+		pq.reset(distTo.length);
+		for (int i = 0; i < size; i++) {
+			int w = stack[i];
+			for (Edge e : graph.getInEdges(vertices.get(w))) {
+				int u = e.getFrom().getId();
+				if (mark[u] != stamp && distTo[u] + e.getWeight() < distTo[w]) {
+					distTo[w] = distTo[u] + e.getWeight();
+					edgeTo[w] = e;
+				}
+			}
+			if (distTo[w] < INFINITY) {
+				pq.insert(w, distTo[w]);
+			}
+		}
+		settle(false);
+	}
+
+	// takes the distances of a finished tree and finds the edge each path arrives
+	// by, the one from the previous vertex that the distance is exact for. returns
+	// false if the tree can not be used. with negative edges only a tree that
+	// settled each vertex once, like recompute does, gives the same distances
+	private boolean adopt(ShortestPathTree seed, boolean settledOnce) {
+		if (seed.getVersion() != graph.getVersion() || seed.getSource() != source.getId()
+				|| (negativeEdges > 0 && !settledOnce)) {
+			return false;
+		}
+		List<Vertex> vertices = graph.getVertices();
+		int n = vertices.size();
+		ensureCapacity(n);
+		for (int v = 0; v < n; v++) {
+			distTo[v] = seed.distTo(v);
+			edgeTo[v] = null;
+			if (v == source.getId() || !seed.hasPathTo(v)) {
+				continue;
+			}
+			int u = seed.previous(v);
+			for (Edge e : graph.getInEdges(vertices.get(v))) {
+				if (e.getFrom().getId() == u && seed.distTo(u) + e.getWeight() == distTo[v]) {
+					edgeTo[v] = e;
+					break;
+				}
+			}
+			if (edgeTo[v] == null) {
+				return false;
+			}
+		}
+		lastRepairSize = 0;
+		fullSearches++;
+		return true;
+	}
+
+	// runs the whole search from the source again on the runner thread, or right
+	// away without a runner. with no source left there is nothing to search. the
+	// search starts once the edit is over, while it is queued or running further
+	// edits only keep the tree stale, and it runs again if they came after the
+	// snapshot
+	private void recomputeLater() {
+		if (runner == null || source == null) {
+			recompute();
+			return;
+		}
+		lastRepairSize = 0;
+		if (!stale) {
+			stale = true;
+			SwingUtilities.invokeLater(this::startSearch);
+		}
+	}
+
+	// starts the full search on a snapshot of the graph as it is now
+	private void startSearch() {
+		if (!stale || pending != null || detached) {
+			return;
+		}
+		IndexedGraph view = graph.getIndexedView();
+		int s = source.getId();
+		pending = new SwingWorker<ShortestPathTree, Void>() {
+			@Override
+			protected ShortestPathTree doInBackground() {
+				DijkstraAdapter dijkstra = new DijkstraAdapter(view);
+				dijkstra.dijkstra(s);
+				return dijkstra.getTree(s);
+			}
+
+			@Override
+			protected void done() {
+				if (pending != this) {
+					return; // cancelled, or the tree was recomputed here meanwhile
+				}
+				pending = null;
+				ShortestPathTree tree;
+				try {
+					tree = get();
+				} catch (InterruptedException | ExecutionException e) {
+					recompute();
+					repaired();
+					return;
+				}
+				if (tree.getVersion() != graph.getVersion()) {
+					startSearch();
+				} else if (adopt(tree, true)) {
+					stale = false;
+					repaired();
+				} else {
+					recompute();
+					repaired();
+				}
+			}
+		};
+		runner.submit(pending);
+	}
+
+	// runs the whole search from the source again
+	private void recompute() {
+		if (pending != null) {
+			pending.cancel(true);
+			pending = null;
+		}
+		stale = false;
+		int n = graph.getVertices().size();
+		ensureCapacity(n);
+		Arrays.fill(distTo, 0, n, INFINITY);
+		Arrays.fill(edgeTo, 0, n, null);
+		pq.reset(n);
+		lastRepairSize = 0;
+		fullSearches++;
+		if (source == null) {
+			return;
+		}
+		distTo[source.getId()] = 0.0;
+		pq.insert(source.getId(), 0.0);
+
+		// with negative weights a vertex could be improved forever, so like
+		// DijkstraAdapter each vertex is settled once
+		settle(negativeEdges > 0);
+	}
+
+	// Dijkstra's algorithm from the vertices on the heap. settleOnce skips edges
+	// into vertices that were already settled
+	private void settle(boolean settleOnce) {
+		nextStamp();
+		List<Vertex> vertices = graph.getVertices();
+		while (!pq.isEmpty()) {
+			int v = pq.delMin();
+			mark[v] = stamp;
+			lastRepairSize++;
+			for (Edge e : graph.getOutEdges(vertices.get(v))) {
+				int w = e.getTo().getId();
+				if (settleOnce && mark[w] == stamp) {
+					continue;
+				}
+				double d = distTo[v] + e.getWeight();
+				if (d < distTo[w]) {
+					distTo[w] = d;
+					edgeTo[w] = e;
+					if (pq.contains(w)) {
+						pq.decreaseKey(w, d);
+					} else {
+						pq.insert(w, d);
+					}
+				}
+			}
+		}
+	}
+
+	// a fresh stamp so old marks no longer count
+	private void nextStamp() {
+		if (++stamp == Integer.MAX_VALUE) {
+			Arrays.fill(mark, 0);
+			stamp = 1;
+		}
+	}
+
+	private void ensureCapacity(int n) {
+		if (distTo.length < n) {
+			int capacity = Math.max(n, 2 * distTo.length);
+			distTo = Arrays.copyOf(distTo, capacity);
+			edgeTo = Arrays.copyOf(edgeTo, capacity);
+			mark = Arrays.copyOf(mark, capacity);
+			stack = new int[capacity];
+			pq.reset(capacity);
+		}
+	}
+
+	private void repaired() {
+		if (repairListener != null) {
+			repairListener.run();
+		}
+	}
+}
@@ -11,6 +11,8 @@ public class Edge {
 	private Vertex to; // Ending point (destination) of the edge
 	private double weight; // allow user to give a weight to the edges, possibly choose random weights etc
 	private Edge reverseEdge; // optional reference to the reverse edge for undirected graphs
+	private Graph graph; // graph this edge belongs to, told about weight changes
+	private int index = -1; // position in the edge list of its graph, -1 until added
 
 	/**
 	 * Constructor for class Edge instantiates all fields
@@ -58,12 +60,17 @@ public class Edge {
 	 * @param weight a given weight
 	 */
 	public void setWeight(double weight) {
+		double oldWeight = this.weight;
 		this.weight = weight;
 
 		// update the reverse edge weight if it exits
 		if (reverseEdge != null) {
 			reverseEdge.weight = weight;
 		}
+
+		if (graph != null) {
+			graph.edgeWeightChanged(this, oldWeight);
+		}
 	}
 
 	/**
@@ -102,4 +109,41 @@ public class Edge {
 	public Edge getReverseEdge() {
 		return reverseEdge;
 	}
+
+	/**
+	 * sets the graph this edge belongs to, only the graph should call this
+	 * 
+	 * @param graph the owning graph, or null once removed
+	 */
+	void setGraph(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * gets the position of this edge in the edge list of its graph
+	 * 
+	 * @return the position, or -1 if the edge is not in a graph
+	 */
+	int getIndex() {
+		return index;
+	}
+
+	/**
+	 * sets the position of this edge in the edge list, only the graph should call
+	 * this
+	 * 
+	 * @param index the position
+	 */
+	void setIndex(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * gets the graph this edge belongs to
+	 * 
+	 * @return the owning graph, or null if the edge is not in one
+	 */
+	Graph getGraph() {
+		return graph;
+	}
 }
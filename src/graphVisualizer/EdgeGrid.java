@@ -0,0 +1,283 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * grid over the plane that finds the edge under a point without looking at
+ * every edge. an edge is filed in each cell its segment passes through, found
+ * by walking the segment from cell to cell. an edge that would pass through
+ * more than {@link #MAX_CELLS_PER_EDGE} cells is filed on a coarser level
+ * instead, each level having cells twice as wide as the one below, so a long
+ * edge takes no more room than a short one. a lookup measures the edges filed
+ * in the cells within the pick tolerance of the point on each level. only
+ * cells that hold an edge are stored
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class EdgeGrid {
+
+	public static final int DEFAULT_CELL_SIZE = 64;
+
+	// most cells an edge is filed in, longer edges go up a level
+	public static final int MAX_CELLS_PER_EDGE = 16;
+
+	private final int cellSize;
+	private final List<Level> levels = new ArrayList<>(); // levels.get(k) has cells of cellSize << k
+	private int edgeCount; // edges filed
+
+	/**
+	 * constructor for an empty grid
+	 *
+	 * @param cellSize width and height of a cell on the finest level, in pixels
+	 */
+	public EdgeGrid(int cellSize) {
+		if (cellSize < 1) {
+			throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+		}
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * files an edge at the current positions of its endpoints
+	 *
+	 * @param edge the edge
+	 */
+	public void insert(Edge edge) {
+		Vertex from = edge.getFrom();
+		Vertex to = edge.getTo();
+		walk(from.getX(), from.getY(), to.getX(), to.getY(), edge, true);
+		edgeCount++;
+	}
+
+	/**
+	 * takes an edge out of the grid
+	 *
+	 * @param edge the edge
+	 * @param x1   x position its start was filed at
+	 * @param y1   y position its start was filed at
+	 * @param x2   x position its end was filed at
+	 * @param y2   y position its end was filed at
+	 */
+	public void remove(Edge edge, int x1, int y1, int x2, int y2) {
+		walk(x1, y1, x2, y2, edge, false);
+		edgeCount--;
+	}
+
+	/**
+	 * finds the edge closest to a point, if it is close enough
+	 *
+	 * @param x         x-coordinate
+	 * @param y         y-coordinate
+	 * @param tolerance how far from the segment the point may be, in pixels
+	 * @return the closest edge, or null if none is within the tolerance
+	 */
+	public Edge find(int x, int y, double tolerance) {
+		Edge best = null;
+		double bestDistance = tolerance * tolerance;
+		for (Level level : levels) {
+			int minX = level.cell(Math.floor(x - tolerance));
+			int maxX = level.cell(Math.ceil(x + tolerance));
+			int minY = level.cell(Math.floor(y - tolerance));
+			int maxY = level.cell(Math.ceil(y + tolerance));
+			for (int i = minX; i <= maxX; i++) {
+				for (int j = minY; j <= maxY; j++) {
+					List<Edge> cell = level.cells.get(pack(i, j));
+					if (cell == null) {
+						continue;
+					}
+					for (Edge edge : cell) {
+						double d = distanceSquared(x, y, edge);
+						if (d <= bestDistance) {
+							best = edge;
+							bestDistance = d;
+						}
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * adds every edge filed in a cell that overlaps a rectangle to a list, once
+	 * each and in no particular order. edges that only pass near a corner of the
+	 * rectangle may be included too. a long edge is filed in many cells, so for a
+	 * rectangle that {@link #spans} the grid it is cheaper to test every edge once
+	 *
+	 * @param minX   left edge of the rectangle
+	 * @param minY   top edge of the rectangle
+	 * @param maxX   right edge of the rectangle
+	 * @param maxY   bottom edge of the rectangle
+	 * @param result the list to add the edges to
+	 */
+	public void query(double minX, double minY, double maxX, double maxY, List<Edge> result) {
+		// an edge is filed in several cells but must only be added once
+		Set<Edge> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Level level : levels) {
+			int cx1 = level.cell(minX);
+			int cy1 = level.cell(minY);
+			int cx2 = level.cell(maxX);
+			int cy2 = level.cell(maxY);
+			for (int i = cx1; i <= cx2; i++) {
+				for (int j = cy1; j <= cy2; j++) {
+					List<Edge> cell = level.cells.get(pack(i, j));
+					if (cell != null) {
+						addUnseen(cell, seen, result);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * tells whether a rectangle is big enough that {@link #query} would likely go
+	 * through more cell entries than there are edges, going by how many entries
+	 * an average stored cell of each level holds
+	 *
+	 * @param minX left edge of the rectangle
+	 * @param minY top edge of the rectangle
+	 * @param maxX right edge of the rectangle
+	 * @param maxY bottom edge of the rectangle
+	 * @return {@code true} if testing every edge once would be cheaper
+	 */
+	public boolean spans(double minX, double minY, double maxX, double maxY) {
+		double entries = 0;
+		for (Level level : levels) {
+			if (level.cells.isEmpty()) {
+				continue;
+			}
+			double columns = (double) level.cell(maxX) - level.cell(minX) + 1;
+			double rows = (double) level.cell(maxY) - level.cell(minY) + 1;
+			entries += Math.min(columns * rows, level.cells.size()) * level.entryCount / level.cells.size();
+		}
+		return entries >= edgeCount;
+	}
+
+	/**
+	 * empties the grid
+	 */
+	public void clear() {
+		levels.clear();
+		edgeCount = 0;
+	}
+
+	private static void addUnseen(List<Edge> cell, Set<Edge> seen, List<Edge> result) {
+		for (Edge edge : cell) {
+			if (seen.add(edge)) {
+				result.add(edge);
+			}
+		}
+	}
+
+	// squared distance from a point to the segment of an edge
+	private static double distanceSquared(int x, int y, Edge edge) {
+		double x1 = edge.getFrom().getX();
+		double y1 = edge.getFrom().getY();
+		double dx = edge.getTo().getX() - x1;
+		double dy = edge.getTo().getY() - y1;
+		double lengthSquared = dx * dx + dy * dy;
+
+		// how far along the segment the closest point is, clamped to its ends
+		double t = lengthSquared == 0 ? 0 : ((x - x1) * dx + (y - y1) * dy) / lengthSquared;
+		t = Math.max(0, Math.min(1, t));
+		double px = x1 + t * dx - x;
+		double py = y1 + t * dy - y;
+		return px * px + py * py;
+	}
+
+	// visits every cell the segment passes through on the finest level where
+	// that is at most MAX_CELLS_PER_EDGE cells, adding or removing the edge
+	private void walk(int x1, int y1, int x2, int y2, Edge edge, boolean add) {
+		int k = 0;
+		while (cellsCrossed(x1, y1, x2, y2, (long) cellSize << k) > MAX_CELLS_PER_EDGE) {
+			k++;
+		}
+		while (levels.size() <= k) {
+			levels.add(new Level((long) cellSize << levels.size()));
+		}
+		Level level = levels.get(k);
+		long size = level.size;
+
+		int cx = level.cell(x1);
+		int cy = level.cell(y1);
+		int endX = level.cell(x2);
+		int endY = level.cell(y2);
+		int stepX = Integer.signum(endX - cx);
+		int stepY = Integer.signum(endY - cy);
+		double dx = x2 - x1;
+		double dy = y2 - y1;
+
+		// distance along the segment, as a fraction of it, to the next vertical and
+		// horizontal cell border, and between two borders
+		double nextX = stepX == 0 ? Double.POSITIVE_INFINITY
+				: ((cx + (stepX > 0 ? 1 : 0)) * (double) size - x1) / dx;
+		double nextY = stepY == 0 ? Double.POSITIVE_INFINITY
+				: ((cy + (stepY > 0 ? 1 : 0)) * (double) size - y1) / dy;
+		double deltaX = stepX == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dx);
+		double deltaY = stepY == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dy);
+
+		int steps = Math.abs(endX - cx) + Math.abs(endY - cy);
+		for (int i = 0;; i++) {
+			level.file(pack(cx, cy), edge, add);
+			if (i == steps) {
+				break;
+			}
+			// a cell border already at the end can not be crossed again, which also
+			// guards against rounding near the end of the segment
+			if (cy == endY || (cx != endX && nextX < nextY)) {
+				cx += stepX;
+				nextX += deltaX;
+			} else {
+				cy += stepY;
+				nextY += deltaY;
+			}
+		}
+	}
+
+	// number of cells of the given size a segment passes through
+	private static long cellsCrossed(int x1, int y1, int x2, int y2, long size) {
+		return Math.abs(Math.floorDiv(x2, size) - Math.floorDiv(x1, size))
+				+ Math.abs(Math.floorDiv(y2, size) - Math.floorDiv(y1, size)) + 1;
+	}
+
+	private static long pack(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+
+	// the cells of one size
+	private static final class Level {
+		private final long size; // width and height of a cell in pixels
+		private final Map<Long, List<Edge>> cells = new HashMap<>(); // packed cell -> edges crossing it
+		private long entryCount; // edges filed summed over the cells
+
+		Level(long size) {
+			this.size = size;
+		}
+
+		// cell holding a coordinate
+		int cell(double coordinate) {
+			return (int) Math.floor(coordinate / size);
+		}
+
+		void file(long key, Edge edge, boolean add) {
+			if (add) {
+				cells.computeIfAbsent(key, k -> new ArrayList<>()).add(edge);
+				entryCount++;
+				return;
+			}
+			List<Edge> cell = cells.get(key);
+			if (cell != null && cell.remove(edge)) {
+				entryCount--;
+				if (cell.isEmpty()) {
+					cells.remove(key);
+				}
+			}
+		}
+	}
+}
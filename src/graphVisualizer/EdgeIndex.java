@@ -0,0 +1,148 @@
+package graphVisualizer;
+
+/**
+ * open addressing hash table that maps a (from, to) pair of vertex ids to the
+ * edge between them. both ids are packed into one primitive long key so lookups
+ * do not box or allocate
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class EdgeIndex {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private long[] keys; // packed (from, to) ids
+	private Edge[] values; // edge stored for each key, null marks an empty slot
+	private int size;
+	private int mask; // capacity - 1, capacity is always a power of two
+
+	/**
+	 * constructor for an empty index
+	 */
+	public EdgeIndex() {
+		keys = new long[INITIAL_CAPACITY];
+		values = new Edge[INITIAL_CAPACITY];
+		mask = INITIAL_CAPACITY - 1;
+	}
+
+	/**
+	 * packs two vertex ids into a single key
+	 * 
+	 * @param from id of the source vertex
+	 * @param to   id of the target vertex
+	 * @return the packed key
+	 */
+	public static long key(int from, int to) {
+		return ((long) from << 32) | (to & 0xffffffffL);
+	}
+
+	/**
+	 * gets the edge stored for a key
+	 * 
+	 * @param key packed (from, to) ids
+	 * @return the edge or null if there is none
+	 */
+	public Edge get(long key) {
+		for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * stores an edge for a key, replacing any edge already stored for it
+	 * 
+	 * @param key  packed (from, to) ids
+	 * @param edge the edge to store
+	 */
+	public void put(long key, Edge edge) {
+		int i = slot(key);
+		while (values[i] != null) {
+			if (keys[i] == key) {
+				values[i] = edge;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = edge;
+
+		// keep the load factor at or below one half
+		if (++size * 2 > values.length) {
+			resize(values.length * 2);
+		}
+	}
+
+	/**
+	 * removes the edge stored for a key, if any
+	 * 
+	 * @param key packed (from, to) ids
+	 */
+	public void remove(long key) {
+		int i = slot(key);
+		while (values[i] != null && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (values[i] == null) {
+			return;
+		}
+		values[i] = null;
+		size--;
+
+		// shift later entries of the probe run back so lookups never stop early
+		for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+			int home = slot(keys[j]);
+			if (((j - home) & mask) >= ((j - i) & mask)) {
+				keys[i] = keys[j];
+				values[i] = values[j];
+				values[j] = null;
+				i = j;
+			}
+		}
+	}
+
+	/**
+	 * removes every entry
+	 */
+	public void clear() {
+		keys = new long[INITIAL_CAPACITY];
+		values = new Edge[INITIAL_CAPACITY];
+		mask = INITIAL_CAPACITY - 1;
+		size = 0;
+	}
+
+	/**
+	 * returns the number of stored keys
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	// home slot of a key, mixes the bits so sequential ids spread out
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		Edge[] oldValues = values;
+		keys = new long[capacity];
+		values = new Edge[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int j = slot(oldKeys[i]);
+				while (values[j] != null) {
+					j = (j + 1) & mask;
+				}
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+
+/**
+ * distance matrix kept on the heap as one flat float array, four bytes per pair
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class FloatDistanceMatrix implements DistanceMatrix {
+
+	private final int rows;
+	private final int columns;
+	private final float[] distances; // distances[s * columns + v] = distance from s to v
+
+	/**
+	 * constructor for a matrix with every pair unreachable
+	 *
+	 * @param rows    number of source vertices
+	 * @param columns number of vertices
+	 */
+	public FloatDistanceMatrix(int rows, int columns) {
+		if (!fits(rows, columns)) {
+			throw new IllegalArgumentException(rows + " by " + columns + " is too large for a float array");
+		}
+		this.rows = rows;
+		this.columns = columns;
+		this.distances = new float[rows * columns];
+		Arrays.fill(distances, Float.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * can a matrix of this size be held in one array
+	 *
+	 * @param rows    number of source vertices
+	 * @param columns number of vertices
+	 * @return {@code true} if it fits
+	 */
+	public static boolean fits(int rows, int columns) {
+		return (long) rows * columns <= Integer.MAX_VALUE - 8;
+	}
+
+	@Override
+	public int rows() {
+		return rows;
+	}
+
+	@Override
+	public int columns() {
+		return columns;
+	}
+
+	@Override
+	public float get(int s, int v) {
+		return distances[s * columns + v];
+	}
+
+	@Override
+	public void setRow(int s, float[] row) {
+		System.arraycopy(row, 0, distances, s * columns, columns);
+	}
+
+	/**
+	 * nothing to release for a matrix on the heap
+	 */
+	@Override
+	public void close() {
+	}
+}
@@ -1,7 +1,10 @@
 package graphVisualizer;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class Graph and its fields, constructors, and methods Will manage collections
@@ -9,10 +12,23 @@ import java.util.List;
  *
  * @author Lincoln Bunker and Carson Emery
  */
-public class Graph {
+public class Graph implements IndexedGraphSource {
+
+	// how far from an edge, in pixels, a click still picks it
+	public static final double EDGE_PICK_TOLERANCE = 5;
 
 	private List<Vertex> vertices;
 	private List<Edge> edges;
+	private Map<Vertex, List<Edge>> outEdges; // edges leaving each vertex
+	private Map<Vertex, List<Edge>> inEdges; // edges entering each vertex
+	private EdgeIndex edgeIndex; // (from id, to id) -> edge
+	private IndexedGraph indexedView; // cached id-based view, rebuilt when its version is stale
+	private long version; // bumped on every change to vertices, edges or weights
+	private ShortestPathCache pathCache; // recent shortest path trees of this graph
+	private Algs4Adapter adapter; // reused so the algorithm engines keep their arrays
+	private List<GraphListener> listeners; // told about every change
+	private SpatialGrid vertexGrid; // vertices by position, for hit-testing
+	private EdgeGrid edgeGrid; // edges by the cells their segments cross, for hit-testing
 	private boolean isDirected;
 	private Iterable<Integer> sources;
 
@@ -24,6 +40,13 @@ public class Graph {
 	public Graph(boolean isDirected) {
 		vertices = new ArrayList<>();
 		edges = new ArrayList<>();
+		outEdges = new HashMap<>();
+		inEdges = new HashMap<>();
+		edgeIndex = new EdgeIndex();
+		pathCache = new ShortestPathCache(ShortestPathCache.DEFAULT_CAPACITY);
+		listeners = new ArrayList<>();
+		vertexGrid = new SpatialGrid(SpatialGrid.DEFAULT_CELL_SIZE);
+		edgeGrid = new EdgeGrid(EdgeGrid.DEFAULT_CELL_SIZE);
 		this.isDirected = isDirected;
 	}
 
@@ -50,35 +73,112 @@ public class Graph {
 	 */
 	public void setDirected(boolean directed) {
 		this.isDirected = directed;
+		version++;
+		for (GraphListener listener : listeners) {
+			listener.graphCleared();
+		}
+	}
+
+	/**
+	 * registers a listener that is told about every change to the graph
+	 * 
+	 * @param listener the listener
+	 */
+	public void addGraphListener(GraphListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * unregisters a listener
+	 * 
+	 * @param listener the listener
+	 */
+	public void removeGraphListener(GraphListener listener) {
+		listeners.remove(listener);
 	}
 
 	/**
-	 * adds a vertex to the graph
+	 * adds a vertex to the graph and assigns its id, which is its position in
+	 * getVertices(), adding the same vertex twice has no effect
 	 * 
 	 * @param vertex the vertex to add
 	 */
 	public void addVertex(Vertex vertex) {
+		if (outEdges.containsKey(vertex)) {
+			return;
+		}
+		vertex.setId(vertices.size());
+		vertex.setGraph(this);
 		vertices.add(vertex);
+		vertexGrid.insert(vertex);
+		outEdges.put(vertex, new ArrayList<>());
+		inEdges.put(vertex, new ArrayList<>());
+		version++;
+		for (GraphListener listener : listeners) {
+			listener.vertexAdded(vertex);
+		}
 	}
 
 	/**
-	 * removes a vertex and all its connected edges from the graph
+	 * removes a vertex and all its connected edges from the graph. the vertex with
+	 * the highest id takes over the id of the removed one, so ids stay dense
+	 * without renumbering the others
 	 * 
 	 * @param vertex the vertex to remove
 	 */
 	public void removeVertex(Vertex vertex) {
-		// remove all edges connected to this vertex
-		List<Edge> edgesToRemove = new ArrayList<>();
-		for (Edge edge : edges) {
-			if (edge.getFrom() == vertex || edge.getTo() == vertex) {
-				edgesToRemove.add(edge);
-			}
+		if (!outEdges.containsKey(vertex)) {
+			return;
 		}
 
-		edges.removeAll(edgesToRemove);
+		// remove all edges connected to this vertex, listeners hear about them
+		// together with the vertex instead of one by one
+		List<Edge> removed = getConnectedEdges(vertex);
+		for (Edge edge : removed) {
+			unlink(edge);
+		}
 
 		// remove the vertex itself
-		vertices.remove(vertex);
+		int id = vertex.getId();
+		Vertex last = vertices.remove(vertices.size() - 1);
+		if (last != vertex) {
+			vertices.set(id, last);
+			changeId(last, id);
+		}
+		outEdges.remove(vertex);
+		inEdges.remove(vertex);
+		vertexGrid.remove(vertex, vertex.getX(), vertex.getY());
+		vertex.setGraph(null);
+		vertex.setId(-1);
+		version++;
+		removed = Collections.unmodifiableList(removed);
+		for (GraphListener listener : listeners) {
+			listener.vertexRemoved(vertex, id, removed);
+		}
+	}
+
+	/**
+	 * gives a vertex a new id, the packed keys of its edges in the edge index
+	 * change with it. nothing else may have the new id
+	 * 
+	 * @param vertex the vertex
+	 * @param id     its new id
+	 */
+	private void changeId(Vertex vertex, int id) {
+		// take out the indexed edges under the old keys, parallel edges share one
+		List<Edge> indexed = new ArrayList<>();
+		for (Edge edge : getConnectedEdges(vertex)) {
+			long key = EdgeIndex.key(edge.getFrom().getId(), edge.getTo().getId());
+			Edge e = edgeIndex.get(key);
+			if (e != null) {
+				edgeIndex.remove(key);
+				indexed.add(e);
+			}
+		}
+		vertex.setId(id);
+		for (Edge edge : indexed) {
+			edgeIndex.put(EdgeIndex.key(edge.getFrom().getId(), edge.getTo().getId()), edge);
+		}
 	}
 
 	/**
@@ -87,14 +187,24 @@ public class Graph {
 	 * @param edge the edge to remove
 	 */
 	public void removeEdge(Edge edge) {
-		edges.remove(edge);
+		if (edge.getGraph() != this) {
+			return;
+		}
+		unlink(edge);
+		for (GraphListener listener : listeners) {
+			listener.edgeRemoved(edge);
+		}
 
 		// for an undirected graph, remove the reverse edge as well
 		if (!isDirected) {
-			for (Edge e : new ArrayList<>(edges)) {
-				if (e.getFrom() == edge.getTo() && e.getTo() == edge.getFrom()) {
-					edges.remove(e);
-					break;
+			Edge reverse = edge.getReverseEdge();
+			if (reverse == null) {
+				reverse = findEdge(edge.getTo(), edge.getFrom());
+			}
+			if (reverse != null && reverse.getGraph() == this) {
+				unlink(reverse);
+				for (GraphListener listener : listeners) {
+					listener.edgeRemoved(reverse);
 				}
 			}
 		}
@@ -109,12 +219,12 @@ public class Graph {
 	 */
 	public void addEdge(Vertex from, Vertex to, double weight) {
 		Edge edge = new Edge(from, to, weight);
-		edges.add(edge);
+		link(edge);
 
 		// for undirected graphs, add the reverse edge as well
 		if (!isDirected) {
 			Edge reverseEdge = new Edge(to, from, weight);
-			edges.add(reverseEdge);
+			link(reverseEdge);
 
 			// link the edges as reverse pairs
 			edge.setReverseOf(reverseEdge);
@@ -127,12 +237,12 @@ public class Graph {
 	 * @param edge the edge to add
 	 */
 	public void addEdge(Edge edge) {
-		edges.add(edge);
+		link(edge);
 
 		// for undirected graphs, add the reverse edge as well
 		if (!isDirected) {
 			Edge reverseEdge = new Edge(edge.getTo(), edge.getFrom(), edge.getWeight());
-			edges.add(reverseEdge);
+			link(reverseEdge);
 
 			// link the edges as reverse pairs
 			edge.setReverseOf(reverseEdge);
@@ -140,39 +250,329 @@ public class Graph {
 	}
 
 	/**
-	 * returns a vertex at the given coordinates, if any
+	 * records an edge in the edge list and the adjacency lists of its endpoints
+	 * 
+	 * @param edge the edge to index
+	 */
+	private void link(Edge edge) {
+		// endpoints that were never added get added now so they have an id
+		if (!outEdges.containsKey(edge.getFrom())) {
+			addVertex(edge.getFrom());
+		}
+		if (!outEdges.containsKey(edge.getTo())) {
+			addVertex(edge.getTo());
+		}
+		edge.setIndex(edges.size());
+		edges.add(edge);
+		outEdges.get(edge.getFrom()).add(edge);
+		inEdges.get(edge.getTo()).add(edge);
+		edgeGrid.insert(edge);
+		edge.setGraph(this);
+
+		// the first edge between a pair is the one findEdge returns
+		long key = EdgeIndex.key(edge.getFrom().getId(), edge.getTo().getId());
+		if (edgeIndex.get(key) == null) {
+			edgeIndex.put(key, edge);
+		}
+		version++;
+		for (GraphListener listener : listeners) {
+			listener.edgeAdded(edge);
+		}
+	}
+
+	/**
+	 * drops an edge from the edge list and the adjacency lists of its endpoints,
+	 * the caller tells the listeners
+	 * 
+	 * @param edge the edge to un-index
+	 */
+	private void unlink(Edge edge) {
+		edge.setGraph(null);
+
+		// the last edge of the list fills the gap so nothing has to shift
+		int index = edge.getIndex();
+		Edge last = edges.remove(edges.size() - 1);
+		if (last != edge) {
+			edges.set(index, last);
+			last.setIndex(index);
+		}
+		edge.setIndex(-1);
+		List<Edge> out = outEdges.get(edge.getFrom());
+		if (out != null) {
+			out.remove(edge);
+		}
+		List<Edge> in = inEdges.get(edge.getTo());
+		if (in != null) {
+			in.remove(edge);
+		}
+		Vertex from = edge.getFrom();
+		Vertex to = edge.getTo();
+		edgeGrid.remove(edge, from.getX(), from.getY(), to.getX(), to.getY());
+
+		// fall back to a parallel edge between the same pair if one is left
+		long key = EdgeIndex.key(edge.getFrom().getId(), edge.getTo().getId());
+		if (edgeIndex.get(key) == edge) {
+			edgeIndex.remove(key);
+			if (out != null) {
+				for (Edge e : out) {
+					if (e.getTo() == edge.getTo()) {
+						edgeIndex.put(key, e);
+						break;
+					}
+				}
+			}
+		}
+		version++;
+	}
+
+	/**
+	 * returns a vertex at the given coordinates, if any. the lookup goes through a
+	 * grid of the vertex positions so it only looks at vertices near the point
 	 * 
 	 * @param x x-coordinate
 	 * @param y y-coordinate
 	 * @return vertex at the given location, or null if none
 	 */
 	public Vertex getVertexAt(int x, int y) {
-		// find a vertex at the given coordinates (within some tolerance)
-		for (Vertex v : vertices) {
-			double distance = Math.sqrt(Math.pow(v.getX() - x, 2) + Math.pow(v.getY() - y, 2));
-			if (distance <= v.getRadius()) {
-				return v;
+		return vertexGrid.find(x, y);
+	}
+
+	/**
+	 * returns the edge closest to the given coordinates, if one passes within a few
+	 * pixels. the lookup goes through a grid of the edge segments so it only
+	 * measures edges near the point. for an undirected edge either of its two
+	 * directions may be returned
+	 * 
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return edge at the given location, or null if none
+	 */
+	public Edge getEdgeAt(int x, int y) {
+		return getEdgeAt(x, y, EDGE_PICK_TOLERANCE);
+	}
+
+	/**
+	 * returns the edge closest to the given coordinates, if one passes within the
+	 * tolerance
+	 * 
+	 * @param x         x-coordinate
+	 * @param y         y-coordinate
+	 * @param tolerance how far from the edge the point may be
+	 * @return edge at the given location, or null if none
+	 */
+	public Edge getEdgeAt(int x, int y, double tolerance) {
+		return edgeGrid.find(x, y, tolerance);
+	}
+
+	/**
+	 * returns the vertices whose circles reach into a rectangle, in no particular
+	 * order. used to draw only what is on screen
+	 * 
+	 * @param minX left edge of the rectangle
+	 * @param minY top edge of the rectangle
+	 * @param maxX right edge of the rectangle
+	 * @param maxY bottom edge of the rectangle
+	 * @return the vertices
+	 */
+	public List<Vertex> getVerticesIn(double minX, double minY, double maxX, double maxY) {
+		List<Vertex> result = new ArrayList<>();
+		vertexGrid.query(minX, minY, maxX, maxY, result);
+		return result;
+	}
+
+	/**
+	 * returns the edges that may cross a rectangle, in no particular order. every
+	 * edge that does cross it is included, along with a few that only pass close
+	 * by. used to draw only what is on screen
+	 * 
+	 * @param minX left edge of the rectangle
+	 * @param minY top edge of the rectangle
+	 * @param maxX right edge of the rectangle
+	 * @param maxY bottom edge of the rectangle
+	 * @return the edges
+	 */
+	public List<Edge> getEdgesIn(double minX, double minY, double maxX, double maxY) {
+		List<Edge> result = new ArrayList<>();
+		if (!edgeGrid.spans(minX, minY, maxX, maxY)) {
+			edgeGrid.query(minX, minY, maxX, maxY, result);
+			return result;
+		}
+
+		// the rectangle covers most of the grid, so test each edge's bounding box
+		for (Edge edge : edges) {
+			Vertex from = edge.getFrom();
+			Vertex to = edge.getTo();
+			if (Math.max(from.getX(), to.getX()) >= minX && Math.min(from.getX(), to.getX()) <= maxX
+					&& Math.max(from.getY(), to.getY()) >= minY && Math.min(from.getY(), to.getY()) <= maxY) {
+				result.add(edge);
 			}
 		}
-		return null;
+		return result;
+	}
+
+	/**
+	 * moves a vertex of this graph to a new position
+	 * 
+	 * @param vertex the vertex
+	 * @param x      the new x position
+	 * @param y      the new y position
+	 */
+	public void moveVertex(Vertex vertex, int x, int y) {
+		int oldX = vertex.getX();
+		int oldY = vertex.getY();
+		vertex.setPosition(x, y);
+		if (outEdges.containsKey(vertex)) {
+			vertexMoved(vertex, oldX, oldY);
+		}
+	}
+
+	/**
+	 * called by a vertex of this graph after its position, radius or label changed,
+	 * positions are part of the id-based view so this counts as a change
+	 * 
+	 * @param vertex the vertex that changed
+	 * @param oldX   its x position before the change
+	 * @param oldY   its y position before the change
+	 */
+	void vertexMoved(Vertex vertex, int oldX, int oldY) {
+		vertexGrid.remove(vertex, oldX, oldY);
+		vertexGrid.insert(vertex);
+
+		// the edges of the vertex were filed with its old position at their end
+		for (Edge edge : getConnectedEdges(vertex)) {
+			Vertex from = edge.getFrom();
+			Vertex to = edge.getTo();
+			edgeGrid.remove(edge, from == vertex ? oldX : from.getX(), from == vertex ? oldY : from.getY(),
+					to == vertex ? oldX : to.getX(), to == vertex ? oldY : to.getY());
+			edgeGrid.insert(edge);
+		}
+		version++;
 	}
 
 	/**
-	 * gets all vertices in the graph
+	 * gets all vertices in the graph, use addVertex and removeVertex to change
+	 * them so the adjacency lists stay in sync
 	 * 
-	 * @return list of vertices
+	 * @return read-only list of vertices
 	 */
 	public List<Vertex> getVertices() {
-		return vertices;
+		return Collections.unmodifiableList(vertices);
 	}
 
 	/**
-	 * gets all edges in the graph
+	 * gets all edges in the graph, use addEdge and removeEdge to change them so
+	 * the adjacency lists stay in sync
 	 * 
-	 * @return list of edges
+	 * @return read-only list of edges
 	 */
 	public List<Edge> getEdges() {
-		return edges;
+		return Collections.unmodifiableList(edges);
+	}
+
+	/**
+	 * gets the edges leaving a vertex, for an undirected graph this includes the
+	 * reverse edge of every edge that enters it
+	 * 
+	 * @param vertex the vertex
+	 * @return read-only list of outgoing edges
+	 */
+	public List<Edge> getOutEdges(Vertex vertex) {
+		List<Edge> out = outEdges.get(vertex);
+		return out == null ? Collections.emptyList() : Collections.unmodifiableList(out);
+	}
+
+	/**
+	 * gets the edges entering a vertex
+	 * 
+	 * @param vertex the vertex
+	 * @return read-only list of incoming edges
+	 */
+	public List<Edge> getInEdges(Vertex vertex) {
+		List<Edge> in = inEdges.get(vertex);
+		return in == null ? Collections.emptyList() : Collections.unmodifiableList(in);
+	}
+
+	/**
+	 * gets a view of the graph that addresses vertices by id, the view is cached
+	 * until the version of the graph changes
+	 * 
+	 * @return the id-based view
+	 */
+	@Override
+	public IndexedGraph getIndexedView() {
+		if (indexedView == null || indexedView.getVersion() != version) {
+			indexedView = new IndexedGraph(this);
+		}
+		return indexedView;
+	}
+
+	/**
+	 * gets the modification counter of the graph, it changes whenever a vertex or
+	 * edge is added or removed or an edge weight changes
+	 * 
+	 * @return the current version
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * called by an edge of this graph after its weight changed, the reverse edge
+	 * of an undirected edge changed with it
+	 * 
+	 * @param edge      the edge that changed
+	 * @param oldWeight its weight before the change
+	 */
+	void edgeWeightChanged(Edge edge, double oldWeight) {
+		version++;
+		Edge reverse = edge.getReverseEdge();
+		boolean reverseInGraph = reverse != null && reverse.getGraph() == this;
+		for (GraphListener listener : listeners) {
+			listener.edgeWeightChanged(edge, oldWeight);
+			if (reverseInGraph) {
+				listener.edgeWeightChanged(reverse, oldWeight);
+			}
+		}
+	}
+
+	/**
+	 * gets the shortest path tree from a start vertex for the current version of
+	 * the graph, trees are cached so repeated queries from the same start only walk
+	 * predecessors
+	 * 
+	 * @param algorithmName "BFS" or "Dijkstra"
+	 * @param start         the source vertex
+	 * @return the shortest path tree
+	 */
+	public ShortestPathTree getShortestPathTree(String algorithmName, Vertex start) {
+		ShortestPathTree tree = getCachedShortestPathTree(algorithmName, start);
+		if (tree == null) {
+			tree = getAdapter().computeShortestPathTree(algorithmName, start);
+			pathCache.put(tree);
+		}
+		return tree;
+	}
+
+	/**
+	 * looks up a shortest path tree from a start vertex for the current version of
+	 * the graph without computing one
+	 * 
+	 * @param algorithmName "BFS" or "Dijkstra"
+	 * @param start         the source vertex
+	 * @return the tree or null if it is not cached
+	 */
+	public ShortestPathTree getCachedShortestPathTree(String algorithmName, Vertex start) {
+		return pathCache.get(algorithmName, start.getId(), version);
+	}
+
+	/**
+	 * caches a shortest path tree computed elsewhere, e.g. on a snapshot by a
+	 * background run. a tree from an older version is never returned again
+	 * 
+	 * @param tree the tree
+	 */
+	public void cacheShortestPathTree(ShortestPathTree tree) {
+		pathCache.put(tree);
 	}
 
 	/**
@@ -183,12 +583,10 @@ public class Graph {
 	 * @return the edge or null if not found
 	 */
 	public Edge findEdge(Vertex from, Vertex to) {
-		for (Edge edge : edges) {
-			if (edge.getFrom() == from && edge.getTo() == to) {
-				return edge;
-			}
+		if (!outEdges.containsKey(from) || !outEdges.containsKey(to)) {
+			return null;
 		}
-		return null;
+		return edgeIndex.get(EdgeIndex.key(from.getId(), to.getId()));
 	}
 
 	/**
@@ -198,9 +596,10 @@ public class Graph {
 	 * @return list of connected edges
 	 */
 	public List<Edge> getConnectedEdges(Vertex vertex) {
-		List<Edge> connectedEdges = new ArrayList<>();
-		for (Edge edge : edges) {
-			if (edge.getFrom() == vertex || edge.getTo() == vertex) {
+		List<Edge> connectedEdges = new ArrayList<>(getOutEdges(vertex));
+		for (Edge edge : getInEdges(vertex)) {
+			// a self loop is already in the outgoing list
+			if (edge.getFrom() != vertex) {
 				connectedEdges.add(edge);
 			}
 		}
@@ -214,13 +613,12 @@ public class Graph {
 	 * @return list of adjacent vertices
 	 */
 	public List<Vertex> getAdjacentVertices(Vertex vertex) {
-		List<Vertex> adjacentVertices = new ArrayList<>();
-		for (Edge edge : edges) {
-			if (edge.getFrom() == vertex) {
-				adjacentVertices.add(edge.getTo());
-			} else if (!isDirected && edge.getTo() == vertex) {
-				adjacentVertices.add(edge.getFrom());
-			}
+		// undirected edges are stored with their reverse, so the outgoing list
+		// already covers both directions
+		List<Edge> out = getOutEdges(vertex);
+		List<Vertex> adjacentVertices = new ArrayList<>(out.size());
+		for (Edge edge : out) {
+			adjacentVertices.add(edge.getTo());
 		}
 		return adjacentVertices;
 	}
@@ -234,12 +632,16 @@ public class Graph {
 	 * @return the path of the
 	 */
 	public List<Vertex> runAlgorithmBFSandDijkstras(String algorithmName, Vertex start, Vertex end) {
-		Algs4Adapter adapter = new Algs4Adapter(this);
 		switch (algorithmName) {
 		case "BFS":
-			return adapter.runBFS(start, end);
 		case "Dijkstra":
-			return adapter.runDijkstra(start, end);
+			return getShortestPathTree(algorithmName, start).pathTo(end);
+		case "Bidirectional BFS":
+			return getAdapter().runBidirectionalBFS(start, end);
+		case "Bidirectional Dijkstra":
+			return getAdapter().runBidirectionalDijkstra(start, end);
+		case "A*":
+			return getAdapter().runAStar(start, end);
 		}
 
 		return null;
@@ -252,16 +654,47 @@ public class Graph {
 	 * @return
 	 */
 	public List<List<Vertex>> runAlgorithmDFS() {
-		Algs4Adapter adapter = new Algs4Adapter(this);
+		Algs4Adapter adapter = getAdapter();
 
 		return adapter.runDFS();
 	}
 
+	/**
+	 * gets the adapter used to run algorithms on this graph, creating it on first
+	 * use, the adapter keeps its engines so their arrays are reused between runs
+	 * 
+	 * @return the adapter
+	 */
+	public Algs4Adapter getAdapter() {
+		if (adapter == null) {
+			adapter = new Algs4Adapter(this);
+		}
+		return adapter;
+	}
+
 	/**
 	 * clears all vertices and edges from the graph
 	 */
 	public void clear() {
+		for (Vertex v : vertices) {
+			v.setId(-1);
+			v.setGraph(null);
+		}
+		for (Edge e : edges) {
+			e.setGraph(null);
+			e.setIndex(-1);
+		}
 		vertices.clear();
 		edges.clear();
+		outEdges.clear();
+		inEdges.clear();
+		edgeIndex.clear();
+		vertexGrid.clear();
+		edgeGrid.clear();
+		pathCache.clear();
+		version++;
+		for (GraphListener listener : listeners) {
+			listener.graphCleared();
+		}
 	}
 }
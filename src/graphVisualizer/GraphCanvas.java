@@ -3,6 +3,9 @@ package graphVisualizer;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,10 +32,48 @@ public class GraphCanvas extends JPanel {
 	private Vertex rightClickedVertex;
 	private Edge rightClickedEdge;
 
+	// strokes are immutable so every repaint shares them
+	private static final BasicStroke EDGE_STROKE = new BasicStroke(1.5f);
+	private static final BasicStroke HIGHLIGHT_STROKE = new BasicStroke(3.0f);
+	private static final BasicStroke SELECTION_STROKE = new BasicStroke(2.0f);
+
+	// edges and vertices drawn once and reused until the graph changes
+	private BufferedImage graphLayer;
+	private long graphLayerVersion = -1; // graph version the layer shows
+	private int graphLayerWidth; // size of the canvas the layer was drawn for
+	private int graphLayerHeight;
+	private double graphLayerScale; // screen scale the layer was drawn at
+	private boolean graphLayerWeights; // whether the layer shows edge weights
+	private int graphLayerView = -1; // view the layer was drawn for
+	private float[] segments = new float[0]; // edge endpoints gathered for drawing, kept between layers
+	private final SpriteCache sprites = new SpriteCache(SpriteCache.DEFAULT_CAPACITY); // text and circles already drawn
+
+	// viewport, a point of the graph at (x, y) is drawn at (x * zoom + panX, y *
+	// zoom + panY)
+	public static final double MIN_ZOOM = 0.02;
+	public static final double MAX_ZOOM = 8;
+	private static final double ZOOM_STEP = 1.1; // zoom factor per notch of the mouse wheel
+	private static final double DETAIL_ZOOM = 0.4; // below this zoom labels and weights are left out
+	private static final double CULL_MARGIN = 40; // room around the screen for weight labels
+	private double zoom = 1;
+	private double panX;
+	private double panY;
+	private int view; // bumped whenever the zoom or pan changes
+	private boolean panning; // whether the current drag moves the view
+	private int lastDragX;
+	private int lastDragY;
+
 	public void setSelectedAlgorithm(String selectedAlgorithm) {
 		this.selectedAlgorithm = selectedAlgorithm;
 	}
 
+	// whether the selected algorithm uses edge weights, so weights are asked for
+	// and drawn
+	private boolean isWeightedAlgorithm() {
+		return "Dijkstra".equals(selectedAlgorithm) || "Bidirectional Dijkstra".equals(selectedAlgorithm)
+				|| "A*".equals(selectedAlgorithm);
+	}
+
 	/**
 	 * constructs a new canvas for the specified graph
 	 * 
@@ -49,8 +90,14 @@ public class GraphCanvas extends JPanel {
 			@Override
 			public void actionPerformed(ActionEvent e) {
 				if (rightClickedVertex != null) {
-					// Remove vertex
+					// Remove vertex, a removed vertex can not stay selected since it has no id
 					graph.removeVertex(rightClickedVertex);
+					if (rightClickedVertex == startVertex) {
+						startVertex = null;
+					}
+					if (rightClickedVertex == endVertex) {
+						endVertex = null;
+					}
 					rightClickedVertex = null;
 					repaint();
 				} else if (rightClickedEdge != null) {
@@ -74,7 +121,7 @@ public class GraphCanvas extends JPanel {
 						String label = JOptionPane.showInputDialog("Enter vertex label:");
 						if (label != null && !label.trim().isEmpty()) {
 
-							Vertex vertex = new Vertex(e.getX(), e.getY(), label);
+							Vertex vertex = new Vertex(toGraphX(e.getX()), toGraphY(e.getY()), label);
 							graph.addVertex(vertex);
 							repaint();
 
@@ -82,8 +129,8 @@ public class GraphCanvas extends JPanel {
 					}
 				} else {
 
-					// For DFS, no vertices need to be selected
-					if ("DFS".equals(selectedAlgorithm)) {
+					// For cycle searches, no vertices need to be selected
+					if ("DFS".equals(selectedAlgorithm) || "All Cycles".equals(selectedAlgorithm)) {
 						// Skip vertex selection for DFS
 						return;
 					}
@@ -110,27 +157,46 @@ public class GraphCanvas extends JPanel {
 
 			@Override
 			public void mousePressed(MouseEvent e) {
-				selectedVertex = getVertexAtPosition(e.getX(), e.getY());
+				// the popup opens on press on some platforms and on release on others
+				if (e.isPopupTrigger()) {
+					showRemovePopup(popupMenu, e);
+					return;
+				}
+				selectedVertex = SwingUtilities.isLeftMouseButton(e) ? getVertexAtPosition(e.getX(), e.getY()) : null;
+
+				// dragging the background or with the middle button moves the view
+				panning = SwingUtilities.isMiddleMouseButton(e)
+						|| (SwingUtilities.isLeftMouseButton(e) && selectedVertex == null);
+				lastDragX = e.getX();
+				lastDragY = e.getY();
 			}
 
 			@Override
 			public void mouseReleased(MouseEvent e) {
-				System.out.println("mouseReleased called, selectedAlgorithm = " + selectedAlgorithm);
-				Vertex target = getVertexAtPosition(e.getX(), e.getY());
+				if (e.isPopupTrigger()) {
+					showRemovePopup(popupMenu, e);
+					selectedVertex = null;
+					panning = false;
+					return;
+				}
+				if (panning) {
+					panning = false;
+					selectedVertex = null;
+					return;
+				}
+
+				// only a drag with the left button connects vertices
+				Vertex target = SwingUtilities.isLeftMouseButton(e) ? getVertexAtPosition(e.getX(), e.getY()) : null;
 				if (selectedVertex != null && target != null && selectedVertex != target) {
 					Edge edge = new Edge(selectedVertex, target, 1); // default weight
-					graph.getEdges().add(edge);
 
-					if (!graph.isDirected()) {
-						Edge reverse = new Edge(target, selectedVertex, 1);
-						edge.setReverseOf(reverse);
-						graph.getEdges().add(reverse);
-					}
+					// the graph adds and links the reverse edge for undirected graphs
+					graph.addEdge(edge);
 					// if the selection mode dikstra is selected, show another input dialog when
 					// edges are connected
 					// this will be for edge weights, will display the number either on or above the
 					// edge line
-					if ("Dijkstra".equals(selectedAlgorithm)) {
+					if (isWeightedAlgorithm()) {
 						String label = JOptionPane.showInputDialog("Enter edge weight of type double:");
 						if (label != null && !label.trim().isEmpty()) {
 							try {
@@ -150,6 +216,15 @@ public class GraphCanvas extends JPanel {
 		});
 
 		addMouseMotionListener(new MouseMotionAdapter() {
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				if (panning) {
+					panBy(e.getX() - lastDragX, e.getY() - lastDragY);
+					lastDragX = e.getX();
+					lastDragY = e.getY();
+				}
+			}
+
 			@Override
 			public void mouseMoved(MouseEvent e) {
 				// Get current mouse position
@@ -167,25 +242,101 @@ public class GraphCanvas extends JPanel {
 				}
 			}
 		});
+
+		// the mouse wheel zooms around the point under the cursor
+		addMouseWheelListener(e -> zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation())));
+	}
+
+	// remembers what was right clicked, a vertex before an edge running under it,
+	// and offers to remove it
+	private void showRemovePopup(JPopupMenu popupMenu, MouseEvent e) {
+		rightClickedVertex = getVertexAtPosition(e.getX(), e.getY());
+
+		// the pick tolerance is meant in screen pixels, whatever the zoom
+		rightClickedEdge = rightClickedVertex == null
+				? graph.getEdgeAt(toGraphX(e.getX()), toGraphY(e.getY()), Graph.EDGE_PICK_TOLERANCE / zoom)
+				: null;
+		if (rightClickedVertex != null || rightClickedEdge != null) {
+			popupMenu.show(this, e.getX(), e.getY());
+		}
 	}
 
-	// helper method to get the vertex at a given position of a mouse
+	// helper method to get the vertex at a given position of a mouse, the graph
+	// keeps its vertices in a grid so this only looks at the ones nearby
 	private Vertex getVertexAtPosition(int x, int y) {
-		for (Vertex v : graph.getVertices()) {
-			double dx = x - v.getX();
-			double dy = y - v.getY();
-			double radiusSquared = v.getRadius() * v.getRadius();
+		return graph.getVertexAt(toGraphX(x), toGraphY(y));
+	}
 
-			if (dx * dx + dy * dy <= radiusSquared) {
-				return v;
-			}
+	// converts a screen position to the graph position drawn there
+	private int toGraphX(int x) {
+		return (int) Math.floor((x - panX) / zoom);
+	}
+
+	private int toGraphY(int y) {
+		return (int) Math.floor((y - panY) / zoom);
+	}
+
+	/**
+	 * zooms the view by a factor, keeping the graph point under a screen position
+	 * where it is
+	 * 
+	 * @param x      x position on screen to zoom around
+	 * @param y      y position on screen to zoom around
+	 * @param factor how much to zoom, above 1 zooms in
+	 */
+	public void zoomAt(int x, int y, double factor) {
+		double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+		if (newZoom == zoom) {
+			return;
+		}
+		panX = x - (x - panX) * newZoom / zoom;
+		panY = y - (y - panY) * newZoom / zoom;
+		zoom = newZoom;
+		view++;
+		repaint();
+	}
+
+	/**
+	 * moves the view by a number of screen pixels
+	 * 
+	 * @param dx pixels to move right
+	 * @param dy pixels to move down
+	 */
+	public void panBy(int dx, int dy) {
+		if (dx == 0 && dy == 0) {
+			return;
 		}
-		return null;
+		panX += dx;
+		panY += dy;
+		view++;
+		repaint();
+	}
+
+	/**
+	 * goes back to the original view, no zoom and no pan
+	 */
+	public void resetView() {
+		zoom = 1;
+		panX = 0;
+		panY = 0;
+		view++;
+		repaint();
+	}
+
+	/**
+	 * getter method for the zoom
+	 * 
+	 * @return screen pixels per graph pixel
+	 */
+	public double getZoom() {
+		return zoom;
 	}
 
 	/**
 	 * paints the graph on this canvas, renders vertices, edges, and algorithm
-	 * visualizations
+	 * visualizations. the edges, weights and vertices come from a cached layer
+	 * that is only drawn again when the graph changes, the path, cycles and
+	 * selected vertices are drawn on top of it every time
 	 *
 	 */
 	@Override
@@ -195,77 +346,243 @@ public class GraphCanvas extends JPanel {
 		// cast to graphics2D for better rendering
 		Graphics2D g2d = (Graphics2D) g;
 
+		// the layer is drawn at the scale of the screen so it stays sharp on high
+		// resolution displays
+		double scale = g2d.getTransform().getScaleX();
+		validateGraphLayer(scale);
+		if (graphLayer != null) {
+			g2d.drawImage(graphLayer, 0, 0, getWidth(), getHeight(), null);
+		}
+
 		// enable antialiasing
 		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-		// draw edges
-		g2d.setStroke(new BasicStroke(1.5f));
-		for (Edge edge : graph.getEdges()) {
-			Vertex from = edge.getFrom();
-			Vertex to = edge.getTo();
-			g.setColor(Color.BLACK);
-			g.drawLine(from.getX(), from.getY(), to.getX(), to.getY());
-
-			if ("Dijkstra".equals(selectedAlgorithm)) {
-				int midX = (from.getX() + to.getX()) / 2;
-				int midY = (from.getY() + to.getY()) / 2;
-
-				// Draw the edge weight slightly offset so it doesn't sit exactly on the line
-				g.setColor(Color.BLUE); // (Optional) Different color for weight text
-				String weightStr = String.valueOf(edge.getWeight());
-				g.drawString(weightStr, midX + 5, midY - 5);
-			}
-		}
-
-		// draw vertices
-		for (Vertex v : graph.getVertices()) {
-			g2d.setColor(Color.BLUE);
-			int r = (int) v.getRadius();
-			g.fillOval(v.getX() - r, v.getY() - r, 2 * r, 2 * r);
-
-			// draw a slight boarder
-			g.setColor(Color.DARK_GRAY);
-			g2d.drawOval(v.getX() - r, v.getY() - r, 2 * r, 2 * r);
-
-			// draw label
-			g2d.setColor(Color.WHITE);
-			FontMetrics fm = g2d.getFontMetrics();
-			String label = v.getLabel();
-			int textWidth = fm.stringWidth(label);
-			g2d.drawString(label, v.getX() - textWidth / 2, v.getY() + fm.getAscent() / 2);
-		}
+		// the overlay is drawn in graph coordinates, its lines keep at least their
+		// width on the screen so they still show when zoomed out
+		AffineTransform screen = g2d.getTransform();
+		g2d.translate(panX, panY);
+		g2d.scale(zoom, zoom);
+		BasicStroke highlight = screenStroke(HIGHLIGHT_STROKE);
 
 		// draw paths
 		if (path != null) {
 			g2d.setColor(Color.RED);
-			g2d.setStroke(new BasicStroke(3.0f));
+			g2d.setStroke(highlight);
 			drawPath(g2d, path);
 		}
 
 		// draw cycles
 		if (cycles != null) {
+			g2d.setStroke(highlight);
 			for (int i = 0; i < cycles.size(); i++) {
 				g2d.setColor(cycleColors[i % cycleColors.length]);
-				g2d.setStroke(new BasicStroke(3.0f));
 				List<Vertex> currentCycle = cycles.get(i);
 				drawCycle(g2d, currentCycle);
 			}
 		}
 
 		// Highlight selected vertices
+		g2d.setColor(Color.RED);
+		g2d.setStroke(screenStroke(SELECTION_STROKE));
 		if (startVertex != null) {
-			g2d.setColor(Color.RED);
-			g2d.setStroke(new BasicStroke(2.0f));
 			int r = (int) startVertex.getRadius();
 			g.drawOval(startVertex.getX() - r, startVertex.getY() - r, 2 * r, 2 * r);
 		}
 		if (endVertex != null) {
-			g2d.setColor(Color.RED);
-			g2d.setStroke(new BasicStroke(2.0f));
 			int r = (int) endVertex.getRadius();
 			g.drawOval(endVertex.getX() - r, endVertex.getY() - r, 2 * r, 2 * r);
 		}
 
+		g2d.setTransform(screen);
+	}
+
+	// a stroke for drawing in graph coordinates that is never thinner on the
+	// screen than the given one
+	private BasicStroke screenStroke(BasicStroke stroke) {
+		if (zoom >= 1) {
+			return stroke;
+		}
+		return new BasicStroke((float) (stroke.getLineWidth() / zoom));
+	}
+
+	// draws the graph layer again if the graph, the view, the size of the canvas,
+	// the screen scale or whether weights are shown changed since it was last
+	// drawn
+	private void validateGraphLayer(double scale) {
+		int width = getWidth();
+		int height = getHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		boolean weights = isWeightedAlgorithm();
+		if (graphLayer != null && graphLayerVersion == graph.getVersion() && graphLayerView == view
+				&& graphLayerWidth == width && graphLayerHeight == height && graphLayerScale == scale
+				&& graphLayerWeights == weights) {
+			return;
+		}
+
+		int pixelWidth = (int) Math.ceil(width * scale);
+		int pixelHeight = (int) Math.ceil(height * scale);
+		if (graphLayer == null || graphLayer.getWidth() != pixelWidth || graphLayer.getHeight() != pixelHeight) {
+			graphLayer = new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+
+		Graphics2D g2d = graphLayer.createGraphics();
+		try {
+			// start from a transparent layer so the background shows through
+			g2d.setComposite(AlphaComposite.Clear);
+			g2d.fillRect(0, 0, pixelWidth, pixelHeight);
+			g2d.setComposite(AlphaComposite.SrcOver);
+			g2d.scale(scale, scale);
+			g2d.setFont(getFont());
+			if (zoom < DETAIL_ZOOM) {
+				drawGraphOverview(g2d, width, height);
+			} else {
+				g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				g2d.translate(panX, panY);
+				g2d.scale(zoom, zoom);
+				drawGraph(g2d, weights, width, height);
+			}
+		} finally {
+			g2d.dispose();
+		}
+
+		graphLayerVersion = graph.getVersion();
+		graphLayerWidth = width;
+		graphLayerHeight = height;
+		graphLayerScale = scale;
+		graphLayerWeights = weights;
+		graphLayerView = view;
+	}
+
+	/**
+	 * helper method to draw the edges, their weights and the vertices with their
+	 * labels, leaving out what is off screen. edges are drawn grouped by style so
+	 * the color and stroke are only set once, text and vertices are copied from
+	 * pre-drawn sprites
+	 * 
+	 * @param g2d     the graphics context, already set to graph coordinates
+	 * @param weights whether to draw the edge weights
+	 * @param width   width of the canvas
+	 * @param height  height of the canvas
+	 */
+	private void drawGraph(Graphics2D g2d, boolean weights, int width, int height) {
+		double minX = (-panX - CULL_MARGIN) / zoom;
+		double minY = (-panY - CULL_MARGIN) / zoom;
+		double maxX = (width - panX + CULL_MARGIN) / zoom;
+		double maxY = (height - panY + CULL_MARGIN) / zoom;
+
+		// draw edges
+		List<Edge> edges = graph.getEdgesIn(minX, minY, maxX, maxY);
+		int count = collectSegments(edges, false);
+		g2d.setStroke(EDGE_STROKE);
+		g2d.setColor(Color.BLACK);
+		Line2D.Float line = new Line2D.Float();
+		for (int i = 0; i < 4 * count; i += 4) {
+			line.setLine(segments[i], segments[i + 1], segments[i + 2], segments[i + 3]);
+			g2d.draw(line);
+		}
+
+		// the rest is copied from the sprite cache in device pixels, so it is placed
+		// by hand with the transform of the graph
+		AffineTransform toDevice = g2d.getTransform();
+		double scale = toDevice.getScaleX();
+		double offsetX = toDevice.getTranslateX();
+		double offsetY = toDevice.getTranslateY();
+		Font font = g2d.getFont();
+		int ascent = g2d.getFontMetrics().getAscent();
+		g2d.setTransform(new AffineTransform());
+
+		if (weights) {
+			// Draw the edge weight slightly offset so it doesn't sit exactly on the line
+			for (Edge edge : edges) {
+				if (!drawnByTwin(edge)) {
+					int midX = (edge.getFrom().getX() + edge.getTo().getX()) / 2;
+					int midY = (edge.getFrom().getY() + edge.getTo().getY()) / 2;
+					SpriteCache.Sprite weight = sprites.getText(String.valueOf(edge.getWeight()), font, Color.BLUE,
+							scale);
+					weight.draw(g2d, (midX + 5) * scale + offsetX, (midY - 5) * scale + offsetY);
+				}
+			}
+		}
+
+		// draw vertices with a slight boarder, and their labels
+		for (Vertex v : graph.getVerticesIn(minX, minY, maxX, maxY)) {
+			SpriteCache.Sprite disc = sprites.getDisc((int) v.getRadius(), EDGE_STROKE, Color.BLUE, Color.DARK_GRAY,
+					scale);
+			disc.draw(g2d, v.getX() * scale + offsetX, v.getY() * scale + offsetY);
+
+			SpriteCache.Sprite label = sprites.getText(v.getLabel(), font, Color.WHITE, scale);
+			double x = v.getX() - label.getWidth() / 2;
+			double y = v.getY() + ascent / 2;
+			label.draw(g2d, x * scale + offsetX, y * scale + offsetY);
+		}
+		g2d.setTransform(toDevice);
+	}
+
+	/**
+	 * helper method to draw the graph when zoomed far out, the vertices are single
+	 * pixels, edges are thin lines and there are no labels or weights. points are
+	 * taken to the screen here instead of through the graphics transform so the
+	 * pixels do not shrink with the zoom
+	 * 
+	 * @param g2d    the graphics context, in screen coordinates
+	 * @param width  width of the canvas
+	 * @param height height of the canvas
+	 */
+	private void drawGraphOverview(Graphics2D g2d, int width, int height) {
+		double minX = -panX / zoom;
+		double minY = -panY / zoom;
+		double maxX = (width - panX) / zoom;
+		double maxY = (height - panY) / zoom;
+
+		int count = collectSegments(graph.getEdgesIn(minX, minY, maxX, maxY), true);
+		g2d.setColor(Color.GRAY);
+		for (int i = 0; i < 4 * count; i += 4) {
+			g2d.drawLine((int) segments[i], (int) segments[i + 1], (int) segments[i + 2], (int) segments[i + 3]);
+		}
+
+		g2d.setColor(Color.BLUE);
+		for (Vertex v : graph.getVerticesIn(minX, minY, maxX, maxY)) {
+			g2d.fillRect(screenX(v), screenY(v), 1, 1);
+		}
+	}
+
+	// copies the endpoints of the edges into the segment buffer, x1 y1 x2 y2 per
+	// edge, in graph coordinates or on the screen. returns how many were copied
+	private int collectSegments(List<Edge> edges, boolean onScreen) {
+		if (segments.length < 4 * edges.size()) {
+			segments = new float[4 * edges.size()];
+		}
+		int n = 0;
+		for (Edge edge : edges) {
+			if (drawnByTwin(edge)) {
+				continue;
+			}
+			Vertex from = edge.getFrom();
+			Vertex to = edge.getTo();
+			segments[n++] = onScreen ? screenX(from) : from.getX();
+			segments[n++] = onScreen ? screenY(from) : from.getY();
+			segments[n++] = onScreen ? screenX(to) : to.getX();
+			segments[n++] = onScreen ? screenY(to) : to.getY();
+		}
+		return n / 4;
+	}
+
+	// an undirected graph stores each edge twice, once in each direction. the two
+	// lie on the same line so only the one leaving the lower id is drawn
+	private boolean drawnByTwin(Edge edge) {
+		Edge reverse = edge.getReverseEdge();
+		return reverse != null && reverse.getGraph() == graph && edge.getFrom().getId() > edge.getTo().getId();
+	}
+
+	// converts the position of a vertex to the screen
+	private int screenX(Vertex v) {
+		return (int) Math.round(v.getX() * zoom + panX);
+	}
+
+	private int screenY(Vertex v) {
+		return (int) Math.round(v.getY() * zoom + panY);
 	}
 
 	/**
@@ -363,6 +680,21 @@ public class GraphCanvas extends JPanel {
 		this.cycles = cycle;
 	}
 
+	/**
+	 * adds one cycle to the cycles being shown and repaints, so cycles can be
+	 * drawn while a search is still finding more. call on the event dispatch
+	 * thread
+	 * 
+	 * @param cycle the cycle to add
+	 */
+	public void addCycle(List<Vertex> cycle) {
+		if (cycles == null) {
+			cycles = new ArrayList<>();
+		}
+		cycles.add(cycle);
+		repaint();
+	}
+
 	public List<List<Vertex>> getCycles() {
 		return this.cycles;
 	}
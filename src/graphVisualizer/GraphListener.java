@@ -0,0 +1,65 @@
+package graphVisualizer;
+
+import java.util.List;
+
+/**
+ * receives changes to a graph right after they are made. an undirected edge is
+ * stored as two edges, each one is reported on its own. every method does
+ * nothing by default so a listener only overrides what it needs
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public interface GraphListener {
+
+	/**
+	 * a vertex was added, it has the highest id
+	 *
+	 * @param vertex the new vertex
+	 */
+	default void vertexAdded(Vertex vertex) {
+	}
+
+	/**
+	 * a vertex and its edges were removed, the vertex that had the highest id has
+	 * moved into its id. the edges are not reported one by one, they come along
+	 * here and their other endpoints already have their new ids
+	 *
+	 * @param vertex the removed vertex
+	 * @param id     the id it had
+	 * @param edges  the edges removed with it
+	 */
+	default void vertexRemoved(Vertex vertex, int id, List<Edge> edges) {
+	}
+
+	/**
+	 * an edge was added
+	 *
+	 * @param edge the new edge
+	 */
+	default void edgeAdded(Edge edge) {
+	}
+
+	/**
+	 * an edge was removed, its endpoints still have their ids
+	 *
+	 * @param edge the removed edge
+	 */
+	default void edgeRemoved(Edge edge) {
+	}
+
+	/**
+	 * the weight of an edge changed
+	 *
+	 * @param edge      the edge
+	 * @param oldWeight its weight before the change
+	 */
+	default void edgeWeightChanged(Edge edge, double oldWeight) {
+	}
+
+	/**
+	 * every vertex and edge was removed at once, or the graph changed between
+	 * directed and undirected
+	 */
+	default void graphCleared() {
+	}
+}
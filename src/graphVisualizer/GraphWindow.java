@@ -11,6 +11,7 @@ import java.awt.event.ItemListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.AbstractButton;
 import javax.swing.BorderFactory;
@@ -21,14 +22,23 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JToggleButton;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 
 public class GraphWindow extends JFrame {
 
 	private static final long serialVersionUID = 1L;
+	private static final int MAX_CYCLE_LENGTH = 64; // longest cycle "All Cycles" reports
+	private static final int PROGRESS_INTERVAL = 200; // milliseconds between updates of a running search
 	private JPanel contentPane;
 	private Graph graph = new Graph(false);
 	private GraphCanvas graphCanvas;
+	private JLabel statusLabel;
+	private JButton cancelButton;
+	private AlgorithmRunner runner = new AlgorithmRunner(); // runs the searches off the event dispatch thread
+	private AlgorithmWorker<?> activeRun; // the search the status label reports on
+	private Timer progressTimer = new Timer(PROGRESS_INTERVAL, e -> showProgress());
 
 	/**
 	 * Create the frame.
@@ -39,6 +49,9 @@ public class GraphWindow extends JFrame {
 		setSize(800, 600);
 		setLocationRelativeTo(null); // Center window
 
+		// the live Dijkstra tree runs its full searches on the runner thread too
+		graph.getAdapter().setAlgorithmRunner(runner);
+
 		// Main panel
 		JPanel mainPanel = new JPanel(new BorderLayout());
 
@@ -53,10 +66,12 @@ public class GraphWindow extends JFrame {
 		JLabel instruction1 = new JLabel("Double Click to draw a vertex");
 		JLabel instruction2 = new JLabel("Click and Hold to connect with an edge");
 		JLabel instruction3 = new JLabel("Use Mode Toggle to switch between draw and select");
+		JLabel instruction4 = new JLabel("Scroll to zoom, drag the background to pan");
 
 		instructionsPanel.add(instruction1);
 		instructionsPanel.add(instruction2);
 		instructionsPanel.add(instruction3);
+		instructionsPanel.add(instruction4);
 
 		topPanel.add(instructionsPanel, BorderLayout.WEST);
 
@@ -71,7 +86,8 @@ public class GraphWindow extends JFrame {
 
 		// algorithm selection dropdown
 		JPanel algoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-		String[] algorithms = { "BFS", "DFS", "Dijkstra" };
+		String[] algorithms = { "BFS", "DFS", "Dijkstra", "Bidirectional BFS", "Bidirectional Dijkstra",
+				"A*", "All Cycles" };
 		JComboBox<String> algorithmDropdown = new JComboBox<>(algorithms);
 		algorithmDropdown.addItemListener(e -> {
 			String selectedAlgorithm = (String) algorithmDropdown.getSelectedItem();
@@ -84,6 +100,9 @@ public class GraphWindow extends JFrame {
 		JPanel runPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 		JButton runButton = new JButton("Run Algorithm");
 		runPanel.add(runButton);
+		cancelButton = new JButton("Cancel");
+		cancelButton.setEnabled(false);
+		runPanel.add(cancelButton);
 
 		// ---------- CENTER PANEL (GraphCanvas Placeholder) ----------
 		graphCanvas = new GraphCanvas(graph);
@@ -93,7 +112,7 @@ public class GraphWindow extends JFrame {
 		JPanel bottomPanel = new JPanel(new BorderLayout());
 
 		// Status Label used to show messages to the user
-		JLabel statusLabel = new JLabel("Ready");
+		statusLabel = new JLabel("Ready");
 		bottomPanel.add(statusLabel, BorderLayout.EAST);
 
 		// Bottom Left: Clear button
@@ -129,96 +148,201 @@ public class GraphWindow extends JFrame {
 			Vertex start = graphCanvas.getStartVertex();
 			Vertex end = graphCanvas.getEndVertex();
 
-			if (selectedAlgorithm != "DFS" && (start == null || end == null)) {
+			// a vertex removed from the graph has id -1 and can not be searched from
+			boolean cycleSearch = "DFS".equals(selectedAlgorithm) || "All Cycles".equals(selectedAlgorithm);
+			if (!cycleSearch && (start == null || end == null || start.getId() < 0 || end.getId() < 0)) {
 				statusLabel.setText("Please select start and end vertices first");
 				return;
 			}
 
+			// clear previous results
+			graphCanvas.setPath(null);
+			graphCanvas.setCycles(null);
+
+			// the searches run on this snapshot, so the graph can be edited while they
+			// run. an edit changes the version and the result is then thrown away
+			IndexedGraph view = graph.getIndexedView();
+
 			// run DFS
 			if ("DFS".equals(selectedAlgorithm)) {
-				try {
+				startRun(new AlgorithmWorker<List<List<Vertex>>>("DFS", view) {
+					@Override
+					protected List<List<Vertex>> search() {
+						return new DFSCycleDetector(view).getCycles();
+					}
+
+					@Override
+					protected void show(List<List<Vertex>> cycles) {
+						if (cycles != null && !cycles.isEmpty()) {
+							graphCanvas.setCycles(cycles);
+							statusLabel.setText("Found " + cycles.size() + "cycle(s)!");
+						} else {
+							graphCanvas.setCycles(null);
+							statusLabel.setText("No cycles exist in the graph");
+						}
+						repaint();
+					}
+				});
+				return;
+			}
 
-					// clear previous results
-					graphCanvas.setPath(null);
+			// enumerate every cycle, drawing each one as soon as it is found
+			if ("All Cycles".equals(selectedAlgorithm)) {
+				JohnsonCycleEnumerator enumerator = new JohnsonCycleEnumerator(view,
+						JohnsonCycleEnumerator.DEFAULT_MAX_CYCLES, MAX_CYCLE_LENGTH);
+				startRun(new AlgorithmWorker<Integer>("All Cycles", view) {
+					@Override
+					protected Integer search() {
+						return enumerator.enumerate(this::publish);
+					}
 
-					List<List<Vertex>> cycles = graph.runAlgorithmDFS();
+					@Override
+					protected void process(List<List<Vertex>> found) {
+						if (isCancelled() || graph.getVersion() != version) {
+							return;
+						}
+						for (List<Vertex> cycle : found) {
+							graphCanvas.addCycle(cycle);
+						}
+					}
 
-					if (cycles != null && !cycles.isEmpty()) {
-						graphCanvas.setCycles(cycles);
-						statusLabel.setText("Found " + cycles.size() + "cycle(s)!");
-					} else {
-						graphCanvas.setCycles(null);
-						statusLabel.setText("No cycles exist in the graph");
+					@Override
+					protected String progress() {
+						List<List<Vertex>> cycles = graphCanvas.getCycles();
+						return "Searching for cycles... " + (cycles == null ? 0 : cycles.size()) + " so far";
 					}
-					repaint();
-					return;
 
-				} catch (Exception ex) {
-					statusLabel.setText("Error: " + ex.getMessage());
-					return;
-				}
+					@Override
+					protected void show(Integer count) {
+						statusLabel.setText(count == 0 ? "No cycles exist in the graph" : "Found " + count + " cycle(s)!");
+					}
+
+					@Override
+					protected void discard() {
+						graphCanvas.setCycles(null);
+					}
+				});
+				return;
 			}
-			
-			
+
+			// the ids of the start and end vertices are read here, not on the background
+			// thread, since an edit can move them. the edit also changes the version so
+			// that result is thrown away
+			int s = start.getId();
+			int t = end.getId();
 
 			// run BFS or Dijkstras
 			if ("BFS".equals(selectedAlgorithm)) {
-				try {
-					// Clear DFS results
-					graphCanvas.setCycles(null);
-
-					List<Vertex> path = graph.runAlgorithmBFSandDijkstras("BFS", start, end);
-					if (path != null) {
-						graphCanvas.setPath(path);
-						statusLabel.setText("BFS Path found! Length: " + path.size());
-					} else {
-						graphCanvas.setPath(null);
-						statusLabel.setText("No path exists between selected vertices");
+				ShortestPathTree cached = graph.getCachedShortestPathTree("BFS", start);
+				startRun(new AlgorithmWorker<ShortestPathTree>("BFS", view) {
+					@Override
+					protected ShortestPathTree search() {
+						if (cached != null) {
+							return cached;
+						}
+						DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(view);
+						bfs.bfs(s);
+						return bfs.getTree(s);
 					}
-				} catch (Exception ex) {
-					statusLabel.setText("Error: " + ex.getMessage());
-				}
-			} else if ("Dijkstra".equals(selectedAlgorithm)) {
-				try {
-					List<Vertex> path = graph.runAlgorithmBFSandDijkstras("Dijkstra", start, end);
-		            System.out.print("Path: ");
-		            for (Vertex vertex : path) {
-		                System.out.print(vertex.getLabel() + " ");  // Assuming Vertex has a 'getName()' method
-		            }
-					// Clear DFS results
-					graphCanvas.setCycles(null);
-
-					List<Vertex> path = graph.runAlgorithmBFSandDijkstras("Dijkstra", start, end);
-					if (path != null) {
-						graphCanvas.setPath(path);
-
-						// Get the path distance to display
-						DijkstraAdapter dijkstraAdapter = new DijkstraAdapter(graph);
-//						double distance = dijkstraAdapter.weightFinal();
-
-						statusLabel.setText("Dijkstra Path found!");
-					} else {
-						graphCanvas.setPath(null);
-						statusLabel.setText("No path exists between selected vertices");
-
-						statusLabel.setText("No cycle exists between selected vertices");
+
+					@Override
+					protected void show(ShortestPathTree tree) {
+						graph.cacheShortestPathTree(tree);
+						List<Vertex> path = tree.pathTo(end);
+						if (path != null) {
+							graphCanvas.setPath(path);
+							statusLabel.setText("BFS Path found! Length: " + path.size());
+						} else {
+							graphCanvas.setPath(null);
+							statusLabel.setText("No path exists between selected vertices");
+						}
 					}
-				} catch (Exception ex) {
-					ex.printStackTrace();
-					statusLabel.setText("Error: " + ex.getMessage());
+				});
+			} else if ("Dijkstra".equals(selectedAlgorithm)) {
+				// the tree repairs itself when edges are added, removed or reweighted, and
+				// the path on screen follows it until the selection changes. a tree that
+				// already follows the graph needs no search, and the full searches an edit
+				// may need run on the runner thread
+				Algs4Adapter adapter = graph.getAdapter();
+				if (adapter.hasDynamicShortestPaths(start)) {
+					stopRun();
+					followDijkstraPath(adapter.getDynamicShortestPaths(start), start, end, algorithmDropdown);
+					return;
 				}
+				startRun(new AlgorithmWorker<ShortestPathTree>("Dijkstra", view) {
+					@Override
+					protected ShortestPathTree search() {
+						return new DeltaStepping(view).run(s);
+					}
+
+					@Override
+					protected void show(ShortestPathTree seed) {
+						followDijkstraPath(adapter.getDynamicShortestPaths(start, seed), start, end,
+								algorithmDropdown);
+					}
+				});
+			} else if ("A*".equals(selectedAlgorithm)) {
+				AStarSearch search = new AStarSearch(view);
+				startRun(new AlgorithmWorker<List<Vertex>>("A*", view) {
+					@Override
+					protected List<Vertex> search() {
+						List<Vertex> path = search.findShortestPath(s, t);
+						if (path != null) {
+							// run plain Dijkstra to the same end vertex to show the pruning
+							search.compareWithDijkstra(s, t);
+						}
+						return path;
+					}
+
+					@Override
+					protected void show(List<Vertex> path) {
+						if (path != null) {
+							graphCanvas.setPath(path);
+							statusLabel.setText("A* Path found! Distance: " + search.getPathDistance(t) + ", settled "
+									+ search.getSettledCount() + " vertices vs " + search.getDijkstraSettledCount()
+									+ " for Dijkstra");
+						} else {
+							graphCanvas.setPath(null);
+							statusLabel.setText("No path exists between selected vertices");
+						}
+					}
+				});
+			} else if (selectedAlgorithm.startsWith("Bidirectional")) {
+				BidirectionalSearch search = new BidirectionalSearch(view);
+				startRun(new AlgorithmWorker<List<Vertex>>(selectedAlgorithm, view) {
+					@Override
+					protected List<Vertex> search() {
+						return "Bidirectional BFS".equals(selectedAlgorithm) ? search.bfs(s, t)
+								: search.dijkstra(s, t);
+					}
+
+					@Override
+					protected void show(List<Vertex> path) {
+						if (path != null) {
+							graphCanvas.setPath(path);
+							statusLabel.setText(selectedAlgorithm + " Path found! Length: " + search.getPathLength()
+									+ ", explored " + search.getExploredCount() + " of " + view.V() + " vertices");
+						} else {
+							graphCanvas.setPath(null);
+							statusLabel.setText("No path exists between selected vertices");
+						}
+					}
+				});
 			}
 		});
 
+		// cancel button listener, the search stops at its next check
+		cancelButton.addActionListener(e -> runner.cancel());
+
 		// clear button listener
 		clearButton.addActionListener(e -> {
-			graph.getVertices().clear();
-			graph.getEdges().clear();
+			runner.cancel();
+			graph.clear();
 			graphCanvas.setStartVertex(null);
 			graphCanvas.setEndVertex(null);
 			graphCanvas.setPath(null);
 			graphCanvas.setCycles(null);
-			graphCanvas.repaint();
+			graphCanvas.resetView();
 		});
 
 		// ---- ASSEMBLE PANELS -----
@@ -244,6 +368,127 @@ public class GraphWindow extends JFrame {
 
 	}
 
+	// starts a search on the background thread, cancelling the one before it
+	private void startRun(AlgorithmWorker<?> run) {
+		activeRun = run;
+		cancelButton.setEnabled(true);
+		showProgress();
+		progressTimer.start();
+		runner.run(run);
+	}
+
+	// cancels the search in flight, for a result that needs no run. its result
+	// and its progress no longer reach the status label
+	private void stopRun() {
+		activeRun = null;
+		progressTimer.stop();
+		cancelButton.setEnabled(false);
+		runner.cancel();
+	}
+
+	// tells the user how long the active search has been running
+	private void showProgress() {
+		if (activeRun != null) {
+			long elapsed = System.nanoTime() - activeRun.started;
+			statusLabel.setText(String.format("%s (%.1f s)", activeRun.progress(), elapsed / 1e9));
+		}
+	}
+
+	// shows the path of a Dijkstra tree and keeps following it as the graph is
+	// edited, until the selection or the algorithm changes
+	private void followDijkstraPath(DynamicShortestPaths tree, Vertex start, Vertex end,
+			JComboBox<String> algorithmDropdown) {
+		tree.setRepairListener(() -> {
+			if (graphCanvas.getStartVertex() == start && graphCanvas.getEndVertex() == end
+					&& "Dijkstra".equals(algorithmDropdown.getSelectedItem())) {
+				showDijkstraPath(tree, end);
+			}
+		});
+		showDijkstraPath(tree, end);
+	}
+
+	// shows the path of a Dijkstra tree to the end vertex and its distance
+	private void showDijkstraPath(DynamicShortestPaths tree, Vertex end) {
+		List<Vertex> path = tree.pathTo(end);
+		if (!tree.isUpToDate()) {
+			// a full search runs on the runner thread, the tree shows it when it is back
+			graphCanvas.setPath(null);
+			statusLabel.setText("Updating Dijkstra path...");
+		} else if (path != null) {
+			graphCanvas.setPath(path);
+			statusLabel.setText("Dijkstra Path found! Distance: " + tree.distTo(end));
+		} else {
+			graphCanvas.setPath(null);
+			statusLabel.setText("No path exists between selected vertices");
+		}
+	}
+
+	/**
+	 * a search run by the {@link AlgorithmRunner} on a snapshot of the graph. the
+	 * search runs on the background thread, its result is shown on the event
+	 * dispatch thread unless the run was cancelled, a later run took its place or
+	 * the graph changed since the snapshot was taken
+	 *
+	 * @param <T> the result of the search
+	 */
+	private abstract class AlgorithmWorker<T> extends SwingWorker<T, List<Vertex>> {
+		protected final String name;
+		protected final long version; // version of the graph the snapshot was taken from
+		private final long started = System.nanoTime();
+
+		AlgorithmWorker(String name, IndexedGraph view) {
+			this.name = name;
+			this.version = view.getVersion();
+		}
+
+		// runs on the background thread
+		protected abstract T search() throws Exception;
+
+		// shows the result, runs on the event dispatch thread
+		protected abstract void show(T result);
+
+		// what the status label says while the search runs
+		protected String progress() {
+			return "Running " + name + "...";
+		}
+
+		// takes back anything shown before the result was thrown away
+		protected void discard() {
+		}
+
+		@Override
+		protected T doInBackground() throws Exception {
+			return search();
+		}
+
+		@Override
+		protected void done() {
+			if (activeRun != this) {
+				return; // another run or result took over the status label
+			}
+			activeRun = null;
+			progressTimer.stop();
+			cancelButton.setEnabled(false);
+			if (isCancelled()) {
+				discard();
+				statusLabel.setText(name + " cancelled");
+				return;
+			}
+			if (graph.getVersion() != version) {
+				discard();
+				statusLabel.setText("The graph changed while " + name + " was running, run it again");
+				return;
+			}
+			try {
+				show(get());
+			} catch (ExecutionException ex) {
+				statusLabel.setText("Error: " + ex.getCause().getMessage());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 //	public String getSelectedAlgorithm() {
 //		return (String) 
 //	}
@@ -0,0 +1,191 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * hop distances from a set of source vertices to every vertex of a graph, one
+ * row per source and one column per vertex id. -1 means the vertex can not be
+ * reached. entries start out as bytes and are widened to shorts and then ints
+ * only when a distance no longer fits, so graphs with a small diameter take one
+ * byte per pair
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class HopDistanceMatrix {
+
+	static final int UNREACHABLE = -1;
+
+	private final int[] sources; // sources[row] = id of the source vertex of that row
+	private final int columns;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// exactly one of the arrays holds the entries, the others are null
+	private byte[] bytes;
+	private short[] shorts;
+	private int[] ints;
+	private volatile int limit = Byte.MAX_VALUE; // largest distance the entries can hold
+	private final AtomicInteger maxDistance = new AtomicInteger(UNREACHABLE); // largest distance written so far
+
+	/**
+	 * constructor for a matrix with every pair unreachable
+	 *
+	 * @param sources ids of the source vertices, one per row
+	 * @param columns number of vertices in the graph
+	 */
+	HopDistanceMatrix(int[] sources, int columns) {
+		long size = (long) sources.length * columns;
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException(
+					sources.length + " sources by " + columns + " vertices is too large for a distance matrix");
+		}
+		this.sources = sources.clone();
+		this.columns = columns;
+		bytes = new byte[(int) size];
+		Arrays.fill(bytes, (byte) UNREACHABLE);
+	}
+
+	/**
+	 * getter method for the number of rows
+	 *
+	 * @return the number of sources
+	 */
+	public int rows() {
+		return sources.length;
+	}
+
+	/**
+	 * getter method for the number of columns
+	 *
+	 * @return the number of vertices
+	 */
+	public int columns() {
+		return columns;
+	}
+
+	/**
+	 * getter method for the source vertex of a row
+	 *
+	 * @param row the row
+	 * @return the id of its source vertex
+	 */
+	public int source(int row) {
+		return sources[row];
+	}
+
+	/**
+	 * returns the number of edges on a shortest path from the source of a row to a
+	 * vertex
+	 *
+	 * @param row the row of the source
+	 * @param v   id of the vertex
+	 * @return the hop distance, or -1 if v can not be reached
+	 */
+	public int get(int row, int v) {
+		int i = row * columns + v;
+		if (bytes != null) {
+			return bytes[i];
+		}
+		if (shorts != null) {
+			return shorts[i];
+		}
+		return ints[i];
+	}
+
+	/**
+	 * is a vertex reachable from the source of a row
+	 *
+	 * @param row the row of the source
+	 * @param v   id of the vertex
+	 * @return {@code true} if there is a path
+	 */
+	public boolean isReachable(int row, int v) {
+		return get(row, v) != UNREACHABLE;
+	}
+
+	/**
+	 * returns the largest finite distance in the matrix. when every vertex is a
+	 * source this is the diameter of the graph, ignoring unreachable pairs
+	 *
+	 * @return the largest distance, or -1 for an empty matrix
+	 */
+	public int maxDistance() {
+		return maxDistance.get();
+	}
+
+	/**
+	 * returns how many bytes each entry takes right now
+	 *
+	 * @return 1, 2 or 4
+	 */
+	public int getBytesPerEntry() {
+		return bytes != null ? 1 : shorts != null ? 2 : 4;
+	}
+
+	/**
+	 * makes sure entries can hold a distance, widening the storage if they can not.
+	 * has to be called before taking {@link #entryLock()} to write a distance of
+	 * that size
+	 *
+	 * @param distance the largest distance about to be written
+	 */
+	void ensureFits(int distance) {
+		maxDistance.accumulateAndGet(distance, Math::max);
+		if (distance <= limit) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			if (bytes != null && distance > Byte.MAX_VALUE) {
+				shorts = new short[bytes.length];
+				for (int i = 0; i < bytes.length; i++) {
+					shorts[i] = bytes[i];
+				}
+				bytes = null;
+				limit = Short.MAX_VALUE;
+			}
+			if (shorts != null && distance > Short.MAX_VALUE) {
+				ints = new int[shorts.length];
+				for (int i = 0; i < shorts.length; i++) {
+					ints[i] = shorts[i];
+				}
+				shorts = null;
+				limit = Integer.MAX_VALUE;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * the lock to hold while writing entries. many threads can write different
+	 * entries at the same time, widening waits for all of them to finish
+	 *
+	 * @return the shared side of the read write lock
+	 */
+	Lock entryLock() {
+		return lock.readLock();
+	}
+
+	/**
+	 * stores a distance, the caller holds {@link #entryLock()} and has made sure it
+	 * fits
+	 *
+	 * @param row      the row of the source
+	 * @param v        id of the vertex
+	 * @param distance the hop distance
+	 */
+	void set(int row, int v, int distance) {
+		int i = row * columns + v;
+		if (bytes != null) {
+			bytes[i] = (byte) distance;
+		} else if (shorts != null) {
+			shorts[i] = (short) distance;
+		} else {
+			ints[i] = distance;
+		}
+	}
+}
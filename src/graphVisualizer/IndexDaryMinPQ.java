@@ -0,0 +1,216 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * indexed min priority queue of vertex ids with double keys, stored as a d-ary
+ * heap. each id is in the queue at most once and its key can be lowered in
+ * place, so the heap never holds more than V entries. a wider heap is shallower
+ * which makes decreaseKey cheaper at the cost of more comparisons per delMin
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class IndexDaryMinPQ {
+
+	private final int d; // number of children per heap node
+	private int n; // number of ids on the heap
+	private int[] pq; // pq[i] = id at heap position i
+	private int[] qp; // qp[id] = heap position of id, or -1 if not on the heap
+	private double[] keys; // keys[id] = priority of id
+	private long comparisons; // key comparisons since the counter was last reset
+
+	/**
+	 * constructor for an empty queue
+	 * 
+	 * @param arity    number of children per node, 2 gives a binary heap
+	 * @param capacity ids must be between 0 and capacity - 1
+	 */
+	public IndexDaryMinPQ(int arity, int capacity) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("heap arity must be at least 2");
+		}
+		this.d = arity;
+		pq = new int[capacity];
+		qp = new int[capacity];
+		keys = new double[capacity];
+		Arrays.fill(qp, -1);
+	}
+
+	/**
+	 * empties the queue and makes room for ids up to capacity - 1, the arrays are
+	 * only reallocated when they are too small
+	 * 
+	 * @param capacity ids must be between 0 and capacity - 1
+	 */
+	public void reset(int capacity) {
+		if (qp.length < capacity) {
+			pq = new int[capacity];
+			qp = new int[capacity];
+			keys = new double[capacity];
+			Arrays.fill(qp, -1);
+		} else {
+			for (int i = 0; i < n; i++) {
+				qp[pq[i]] = -1;
+			}
+		}
+		n = 0;
+		comparisons = 0;
+	}
+
+	/**
+	 * getter for the heap arity
+	 * 
+	 * @return number of children per node
+	 */
+	public int getArity() {
+		return d;
+	}
+
+	/**
+	 * is the queue empty
+	 * 
+	 * @return whether no ids are on the queue
+	 */
+	public boolean isEmpty() {
+		return n == 0;
+	}
+
+	/**
+	 * returns the number of ids on the queue
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * is the id on the queue
+	 * 
+	 * @param i the id
+	 * @return whether i is on the queue
+	 */
+	public boolean contains(int i) {
+		return qp[i] != -1;
+	}
+
+	/**
+	 * adds an id with the given key
+	 * 
+	 * @param i   the id, must not already be on the queue
+	 * @param key its priority
+	 */
+	public void insert(int i, double key) {
+		if (contains(i)) {
+			throw new IllegalArgumentException("index " + i + " is already in the priority queue");
+		}
+		keys[i] = key;
+		pq[n] = i;
+		qp[i] = n;
+		swim(n++);
+	}
+
+	/**
+	 * lowers the key of an id already on the queue
+	 * 
+	 * @param i   the id
+	 * @param key the new key, must not be greater than the current one
+	 */
+	public void decreaseKey(int i, double key) {
+		if (!contains(i)) {
+			throw new NoSuchElementException("index " + i + " is not in the priority queue");
+		}
+		keys[i] = key;
+		swim(qp[i]);
+	}
+
+	/**
+	 * returns the key of the smallest id without removing it
+	 * 
+	 * @return the minimum key
+	 */
+	public double minKey() {
+		if (n == 0) {
+			throw new NoSuchElementException("Priority queue underflow");
+		}
+		return keys[pq[0]];
+	}
+
+	/**
+	 * removes the id with the smallest key and returns it
+	 * 
+	 * @return the id with the minimum key
+	 */
+	public int delMin() {
+		if (n == 0) {
+			throw new NoSuchElementException("Priority queue underflow");
+		}
+		int min = pq[0];
+		n--;
+		if (n > 0) {
+			pq[0] = pq[n];
+			qp[pq[0]] = 0;
+			sink(0);
+		}
+		qp[min] = -1;
+		return min;
+	}
+
+	/**
+	 * returns the number of key comparisons made since the last reset, used to
+	 * compare heap arities against each other
+	 * 
+	 * @return the comparison count
+	 */
+	public long getComparisonCount() {
+		return comparisons;
+	}
+
+	// move the entry at heap position k up until its parent is not larger
+	private void swim(int k) {
+		int id = pq[k];
+		double key = keys[id];
+		while (k > 0) {
+			int parent = (k - 1) / d;
+			comparisons++;
+			if (keys[pq[parent]] <= key) {
+				break;
+			}
+			pq[k] = pq[parent];
+			qp[pq[k]] = k;
+			k = parent;
+		}
+		pq[k] = id;
+		qp[id] = k;
+	}
+
+	// move the entry at heap position k down until no child is smaller
+	private void sink(int k) {
+		int id = pq[k];
+		double key = keys[id];
+		while (true) {
+			int first = d * k + 1;
+			if (first >= n) {
+				break;
+			}
+			int last = Math.min(first + d, n);
+			int best = first;
+			for (int c = first + 1; c < last; c++) {
+				comparisons++;
+				if (keys[pq[c]] < keys[pq[best]]) {
+					best = c;
+				}
+			}
+			comparisons++;
+			if (keys[pq[best]] >= key) {
+				break;
+			}
+			pq[k] = pq[best];
+			qp[pq[k]] = k;
+			k = best;
+		}
+		pq[k] = id;
+		qp[id] = k;
+	}
+}
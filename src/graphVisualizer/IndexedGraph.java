@@ -0,0 +1,335 @@
+package graphVisualizer;
+
+import java.util.List;
+
+/**
+ * read-only view of a graph that addresses vertices by their dense ids and
+ * stores the adjacency lists in flat arrays, so algorithms can walk neighbours
+ * with plain int loops instead of going through vertex maps
+ * 
+ * the outgoing edges of vertex v occupy the slots outBegin(v) until outEnd(v),
+ * the incoming edges occupy inBegin(v) until inEnd(v). weights are copied when
+ * the view is built, the graph builds a new view whenever its version changes
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class IndexedGraph implements IndexedGraphSource {
+
+	private final Vertex[] vertices; // vertices[id] = vertex with that id
+	private final int[] xs; // xs[id] = x position of the vertex when the view was built
+	private final int[] ys; // ys[id] = y position of the vertex when the view was built
+	private final boolean directed;
+	private final long version; // version of the graph this view was built from
+	private final int[] outStart; // outStart[v] = first outgoing slot of v, outStart[V] = E
+	private final int[] outTarget; // outTarget[e] = id of the vertex edge e points to
+	private final Edge[] outEdge; // outEdge[e] = the edge object in outgoing slot e
+	private final double[] outWeight; // outWeight[e] = weight of outgoing slot e
+	private final int[] inStart; // inStart[v] = first incoming slot of v, inStart[V] = E
+	private final int[] inSource; // inSource[e] = id of the vertex incoming slot e comes from
+	private final Edge[] inEdge; // inEdge[e] = the edge object in incoming slot e
+	private final double[] inWeight; // inWeight[e] = weight of incoming slot e
+	private volatile LongHashSet edgeKeys; // packed (from, to) ids of every edge, hashed on first use
+	private volatile double minWeightPerLength = Double.NaN; // computed on first use
+
+	/**
+	 * builds the view from the current state of a graph
+	 * 
+	 * @param graph the graph to index
+	 */
+	IndexedGraph(Graph graph) {
+		List<Vertex> list = graph.getVertices();
+		int n = list.size();
+		int m = graph.getEdges().size();
+		directed = graph.isDirected();
+		version = graph.getVersion();
+		vertices = list.toArray(new Vertex[n]);
+		xs = new int[n];
+		ys = new int[n];
+		for (int v = 0; v < n; v++) {
+			xs[v] = vertices[v].getX();
+			ys[v] = vertices[v].getY();
+		}
+
+		outStart = new int[n + 1];
+		outTarget = new int[m];
+		outEdge = new Edge[m];
+		outWeight = new double[m];
+		inStart = new int[n + 1];
+		inSource = new int[m];
+		inEdge = new Edge[m];
+		inWeight = new double[m];
+
+		int out = 0;
+		int in = 0;
+		for (int v = 0; v < n; v++) {
+			outStart[v] = out;
+			for (Edge edge : graph.getOutEdges(vertices[v])) {
+				outTarget[out] = edge.getTo().getId();
+				outWeight[out] = edge.getWeight();
+				outEdge[out++] = edge;
+			}
+			inStart[v] = in;
+			for (Edge edge : graph.getInEdges(vertices[v])) {
+				inSource[in] = edge.getFrom().getId();
+				inWeight[in] = edge.getWeight();
+				inEdge[in++] = edge;
+			}
+		}
+		outStart[n] = out;
+		inStart[n] = in;
+	}
+
+	/**
+	 * a view is already a snapshot, so it is its own view
+	 * 
+	 * @return this view
+	 */
+	@Override
+	public IndexedGraph getIndexedView() {
+		return this;
+	}
+
+	/**
+	 * getter for the version of the graph this view was built from
+	 * 
+	 * @return the graph version
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * returns the number of vertices
+	 * 
+	 * @return the number of vertices
+	 */
+	public int V() {
+		return vertices.length;
+	}
+
+	/**
+	 * returns the number of edges, an undirected edge counts once per direction
+	 * 
+	 * @return the number of edges
+	 */
+	public int E() {
+		return outTarget.length;
+	}
+
+	/**
+	 * getter for whether the indexed graph is directed
+	 * 
+	 * @return whether the graph is directed
+	 */
+	public boolean isDirected() {
+		return directed;
+	}
+
+	/**
+	 * gets the vertex with the given id
+	 * 
+	 * @param v the vertex id
+	 * @return the vertex
+	 */
+	public Vertex vertex(int v) {
+		return vertices[v];
+	}
+
+	/**
+	 * x position of a vertex when the view was built
+	 * 
+	 * @param v the vertex id
+	 * @return the x coordinate
+	 */
+	public int x(int v) {
+		return xs[v];
+	}
+
+	/**
+	 * y position of a vertex when the view was built
+	 * 
+	 * @param v the vertex id
+	 * @return the y coordinate
+	 */
+	public int y(int v) {
+		return ys[v];
+	}
+
+	/**
+	 * first outgoing slot of a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the first slot
+	 */
+	public int outBegin(int v) {
+		return outStart[v];
+	}
+
+	/**
+	 * one past the last outgoing slot of a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the end slot
+	 */
+	public int outEnd(int v) {
+		return outStart[v + 1];
+	}
+
+	/**
+	 * returns the number of edges leaving a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the out degree
+	 */
+	public int outDegree(int v) {
+		return outStart[v + 1] - outStart[v];
+	}
+
+	/**
+	 * id of the vertex an outgoing slot points to
+	 * 
+	 * @param e the outgoing slot
+	 * @return the target vertex id
+	 */
+	public int target(int e) {
+		return outTarget[e];
+	}
+
+	/**
+	 * weight of the edge in an outgoing slot
+	 * 
+	 * @param e the outgoing slot
+	 * @return the edge weight
+	 */
+	public double weight(int e) {
+		return outWeight[e];
+	}
+
+	/**
+	 * edge object in an outgoing slot
+	 * 
+	 * @param e the outgoing slot
+	 * @return the edge
+	 */
+	public Edge edge(int e) {
+		return outEdge[e];
+	}
+
+	/**
+	 * smallest weight per unit of straight line length over all edges, the
+	 * heuristic scale of {@link AStarSearch}. the first call scans the edges and
+	 * the view keeps the answer, so every search on the same view shares it. safe
+	 * to call from several threads
+	 * 
+	 * @return the ratio, infinite if no edge has a length
+	 */
+	public double minWeightPerLength() {
+		double min = minWeightPerLength;
+		if (Double.isNaN(min)) {
+			min = Double.POSITIVE_INFINITY;
+			for (int v = 0; v < vertices.length; v++) {
+				for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+					int w = outTarget[e];
+					double length = Math.hypot(xs[v] - xs[w], ys[v] - ys[w]);
+					// an edge between vertices at the same spot puts no limit on the ratio
+					if (length > 0) {
+						min = Math.min(min, outWeight[e] / length);
+					}
+				}
+			}
+			minWeightPerLength = min;
+		}
+		return min;
+	}
+
+	/**
+	 * is there an edge from one vertex to another. the first call hashes the
+	 * packed ids of every edge like {@link EdgeIndex} does, after that a lookup
+	 * takes constant time whatever the degree. safe to call from several threads
+	 * 
+	 * @param v the id of the vertex the edge leaves
+	 * @param w the id of the vertex the edge enters
+	 * @return whether the view has such an edge
+	 */
+	public boolean hasEdge(int v, int w) {
+		LongHashSet keys = edgeKeys;
+		if (keys == null) {
+			keys = hashEdges();
+		}
+		return keys.contains(EdgeIndex.key(v, w));
+	}
+
+	// hashes the edges once, even if several threads ask at the same time
+	private synchronized LongHashSet hashEdges() {
+		if (edgeKeys == null) {
+			LongHashSet keys = new LongHashSet();
+			for (int v = 0; v < vertices.length; v++) {
+				for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+					keys.add(EdgeIndex.key(v, outTarget[e]));
+				}
+			}
+			edgeKeys = keys;
+		}
+		return edgeKeys;
+	}
+
+	/**
+	 * first incoming slot of a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the first slot
+	 */
+	public int inBegin(int v) {
+		return inStart[v];
+	}
+
+	/**
+	 * one past the last incoming slot of a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the end slot
+	 */
+	public int inEnd(int v) {
+		return inStart[v + 1];
+	}
+
+	/**
+	 * returns the number of edges entering a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the in degree
+	 */
+	public int inDegree(int v) {
+		return inStart[v + 1] - inStart[v];
+	}
+
+	/**
+	 * id of the vertex an incoming slot comes from
+	 * 
+	 * @param e the incoming slot
+	 * @return the source vertex id
+	 */
+	public int source(int e) {
+		return inSource[e];
+	}
+
+	/**
+	 * weight of the edge in an incoming slot
+	 * 
+	 * @param e the incoming slot
+	 * @return the edge weight
+	 */
+	public double inWeight(int e) {
+		return inWeight[e];
+	}
+
+	/**
+	 * edge object in an incoming slot
+	 * 
+	 * @param e the incoming slot
+	 * @return the edge
+	 */
+	public Edge inEdge(int e) {
+		return inEdge[e];
+	}
+}
@@ -0,0 +1,19 @@
+package graphVisualizer;
+
+/**
+ * anything the algorithms can get an id-based view from. a {@link Graph} hands
+ * out a view of its current version, while an {@link IndexedGraph} is its own
+ * view and never changes, so an algorithm built on one can run on another
+ * thread while the graph is edited
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public interface IndexedGraphSource {
+
+	/**
+	 * gets the id-based view to run an algorithm on
+	 *
+	 * @return the view
+	 */
+	IndexedGraph getIndexedView();
+}
@@ -0,0 +1,239 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * enumerates the elementary cycles of a graph with Johnson's algorithm and
+ * hands each one to a consumer as soon as it is found. unlike the cycles a
+ * single DFS pass happens to close, the result does not depend on vertex order.
+ * 
+ * the number of cycles can grow exponentially with the graph, so enumeration
+ * stops after maxCycles cycles and never follows a path longer than maxLength
+ * vertices. as elsewhere in the visualizer a cycle needs at least 3 vertices.
+ * the search uses explicit stacks so it can not overflow the thread stack
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class JohnsonCycleEnumerator {
+
+	public static final int DEFAULT_MAX_CYCLES = 500;
+
+	private final IndexedGraph view; // snapshot of the graph taken by the constructor
+	private final int maxCycles;
+	private final int maxLength;
+
+	private boolean[] blocked; // blocked[v] = v can not currently reach the start vertex
+	private int[][] blockedBy; // blockedBy[w] = vertices to unblock when w is unblocked
+	private int[] blockedBySize;
+	private int[] path; // vertex ids on the current path, path[0] is the start vertex
+	private int[] next; // next[v] = next outgoing slot of v to look at
+	private boolean[] found; // found[v] = a cycle was closed below v on the current path
+	private int[] unblockStack;
+	private int[] touched; // vertices whose state the current search changed
+	private int touchedCount;
+	private int[] touchedStamp; // touchedStamp[v] == stamp if v is in touched
+	private int stamp; // id of the current search, one per start vertex
+	private LongHashSet seen; // canonical keys, drops repeats caused by parallel edges
+	private StronglyConnectedComponents scc; // cycles never cross components
+	private int count;
+
+	/**
+	 * constructor that takes a snapshot of the graph, enumerate can then run on
+	 * another thread
+	 * 
+	 * @param graph     the graph to search
+	 * @param maxCycles stop after this many cycles
+	 * @param maxLength longest cycle to report, counted in vertices
+	 */
+	public JohnsonCycleEnumerator(IndexedGraphSource graph, int maxCycles, int maxLength) {
+		this.view = graph.getIndexedView();
+		this.maxCycles = maxCycles;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * runs the enumeration
+	 * 
+	 * @param consumer receives each cycle as a list of vertices, the last vertex
+	 *                 connects back to the first
+	 * @return the number of cycles reported
+	 */
+	public int enumerate(Consumer<List<Vertex>> consumer) {
+		int n = view.V();
+		blocked = new boolean[n];
+		blockedBy = new int[n][];
+		blockedBySize = new int[n];
+		path = new int[n];
+		next = new int[n];
+		found = new boolean[n];
+		unblockStack = new int[n];
+		touched = new int[n];
+		touchedCount = 0;
+		touchedStamp = new int[n];
+		seen = new LongHashSet();
+		count = 0;
+
+		// every cycle is found exactly once, from its smallest vertex id, and lies
+		// inside one strongly connected component
+		scc = new StronglyConnectedComponents(view);
+		for (int s = 0; s < n && count < maxCycles; s++) {
+			if (scc.size(scc.id(s)) >= 3) {
+				circuits(s, consumer);
+			}
+		}
+		return count;
+	}
+
+	// report every cycle whose smallest vertex id is s
+	private void circuits(int s, Consumer<List<Vertex>> consumer) {
+		stamp = s + 1;
+		int component = scc.id(s);
+		int depth = 0;
+		path[0] = s;
+		enter(s);
+
+		int steps = 0;
+		while (depth >= 0) {
+			if ((++steps & 1023) == 0) {
+				AlgorithmRunner.checkCancelled();
+			}
+			int v = path[depth];
+			if (next[v] < view.outEnd(v)) {
+				int w = view.target(next[v]++);
+				if (w < s || scc.id(w) != component) {
+					continue;
+				}
+				if (w == s) {
+					if (report(depth + 1, consumer)) {
+						found[v] = true;
+					}
+					if (count >= maxCycles) {
+						break;
+					}
+				} else if (!blocked[w]) {
+					if (depth + 2 > maxLength) {
+						// a cycle through w may exist but is too long to follow,
+						// treat it as found so v does not stay blocked
+						found[v] = true;
+					} else {
+						path[++depth] = w;
+						enter(w);
+					}
+				}
+			} else {
+				// v is done, unblock it if it led back to s, otherwise it stays
+				// blocked until one of its successors is unblocked
+				if (found[v]) {
+					unblock(v);
+				} else {
+					for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+						int w = view.target(e);
+						if (w >= s && scc.id(w) == component) {
+							addBlockedBy(w, v);
+						}
+					}
+				}
+				depth--;
+				if (depth >= 0 && found[v]) {
+					found[path[depth]] = true;
+				}
+			}
+		}
+
+		// a search only touches vertices reachable from s, so only those are reset
+		for (int i = 0; i < touchedCount; i++) {
+			int v = touched[i];
+			blocked[v] = false;
+			blockedBySize[v] = 0;
+		}
+		touchedCount = 0;
+	}
+
+	// push v onto the path
+	private void enter(int v) {
+		touch(v);
+		blocked[v] = true;
+		found[v] = false;
+		next[v] = view.outBegin(v);
+	}
+
+	// hand the cycle on the path to the consumer, returns whether the path closes
+	// a cycle at all, reported or not
+	private boolean report(int length, Consumer<List<Vertex>> consumer) {
+		if (length < 3) {
+			// still a cycle, it just is too short to report
+			return true;
+		}
+
+		// an undirected cycle is walked in both directions, keep one of them
+		if (!view.isDirected() && path[1] > path[length - 1]) {
+			return true;
+		}
+		if (!seen.add(CycleKey.of(path, length, !view.isDirected()))) {
+			return true;
+		}
+
+		List<Vertex> cycle = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			cycle.add(view.vertex(path[i]));
+		}
+		count++;
+		consumer.accept(cycle);
+		return true;
+	}
+
+	// unblock u and everything waiting on it
+	private void unblock(int u) {
+		int top = 0;
+		unblockStack[top++] = u;
+		blocked[u] = false;
+		while (top > 0) {
+			int x = unblockStack[--top];
+			for (int i = 0; i < blockedBySize[x]; i++) {
+				int w = blockedBy[x][i];
+				if (blocked[w]) {
+					blocked[w] = false;
+					unblockStack[top++] = w;
+				}
+			}
+			blockedBySize[x] = 0;
+		}
+	}
+
+	// remember that v needs a reset once the current search is over
+	private void touch(int v) {
+		if (touchedStamp[v] != stamp) {
+			touchedStamp[v] = stamp;
+			touched[touchedCount++] = v;
+		}
+	}
+
+	// remember to unblock v when w is unblocked
+	private void addBlockedBy(int w, int v) {
+		touch(w);
+		int[] list = blockedBy[w];
+		int size = blockedBySize[w];
+		for (int i = 0; i < size; i++) {
+			if (list[i] == v) {
+				return;
+			}
+		}
+		blockedBy[w] = append(list, size, v);
+		blockedBySize[w] = size + 1;
+	}
+
+	// store value at index, growing the array when needed
+	private static int[] append(int[] array, int index, int value) {
+		if (array == null) {
+			array = new int[4];
+		} else if (index == array.length) {
+			int[] grown = new int[array.length * 2];
+			System.arraycopy(array, 0, grown, 0, array.length);
+			array = grown;
+		}
+		array[index] = value;
+		return array;
+	}
+}
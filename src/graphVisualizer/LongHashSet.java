@@ -0,0 +1,98 @@
+package graphVisualizer;
+
+/**
+ * open addressing hash set of primitive longs, so keys are stored without
+ * boxing
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class LongHashSet {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private long[] keys;
+	private boolean[] used; // used[i] = slot i holds a key
+	private int size;
+	private int mask; // capacity - 1, capacity is always a power of two
+
+	/**
+	 * constructor for an empty set
+	 */
+	public LongHashSet() {
+		keys = new long[INITIAL_CAPACITY];
+		used = new boolean[INITIAL_CAPACITY];
+		mask = INITIAL_CAPACITY - 1;
+	}
+
+	/**
+	 * is the key in the set
+	 * 
+	 * @param key the key
+	 * @return whether the set contains it
+	 */
+	public boolean contains(long key) {
+		for (int i = slot(key); used[i]; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * adds a key to the set
+	 * 
+	 * @param key the key
+	 * @return true if the key was added, false if it was already present
+	 */
+	public boolean add(long key) {
+		int i = slot(key);
+		while (used[i]) {
+			if (keys[i] == key) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		used[i] = true;
+
+		// keep the load factor at or below one half
+		if (++size * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		return true;
+	}
+
+	/**
+	 * returns the number of keys in the set
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	// home slot of a key, mixes the bits so nearby keys spread out
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		boolean[] oldUsed = used;
+		keys = new long[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int j = slot(oldKeys[i]);
+				while (used[j]) {
+					j = (j + 1) & mask;
+				}
+				keys[j] = oldKeys[i];
+				used[j] = true;
+			}
+		}
+	}
+}
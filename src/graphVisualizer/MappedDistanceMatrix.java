@@ -0,0 +1,148 @@
+package graphVisualizer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * distance matrix kept in a memory mapped file, for graphs whose V^2 floats do
+ * not fit on the heap. each row goes into the mapping as soon as it is set, so
+ * finished rows are streamed out to disk by the operating system while the
+ * rest are still being computed. the file holds the rows one after another as
+ * little endian floats.
+ *
+ * a single mapping can not be larger than 2GB, so the file is mapped as a list
+ * of regions of whole rows
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class MappedDistanceMatrix implements DistanceMatrix {
+
+	private static final long MAX_REGION_BYTES = 1L << 30;
+
+	private final int rows;
+	private final int columns;
+	private final int rowsPerRegion;
+	private final FileChannel channel;
+	private final MappedByteBuffer[] regions;
+	private final FloatBuffer[] floats; // float views of the regions
+	private final Path file;
+	private final boolean deleteOnClose;
+
+	/**
+	 * constructor for a matrix in the given file, which is created or truncated.
+	 * every pair starts out unreachable
+	 *
+	 * @param file    where to keep the distances
+	 * @param rows    number of source vertices
+	 * @param columns number of vertices
+	 * @throws IOException if the file can not be created or mapped
+	 */
+	public MappedDistanceMatrix(Path file, int rows, int columns) throws IOException {
+		this(file, rows, columns, false);
+	}
+
+	private MappedDistanceMatrix(Path file, int rows, int columns, boolean deleteOnClose) throws IOException {
+		long rowBytes = (long) columns * Float.BYTES;
+		if (rowBytes > MAX_REGION_BYTES) {
+			throw new IllegalArgumentException("a row of " + columns + " floats is larger than a mapped region");
+		}
+		this.rows = rows;
+		this.columns = columns;
+		this.file = file;
+		this.deleteOnClose = deleteOnClose;
+		this.rowsPerRegion = (int) Math.max(1, MAX_REGION_BYTES / Math.max(1, rowBytes));
+
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		int count = (rows + rowsPerRegion - 1) / rowsPerRegion;
+		regions = new MappedByteBuffer[count];
+		floats = new FloatBuffer[count];
+		for (int i = 0; i < count; i++) {
+			int regionRows = Math.min(rowsPerRegion, rows - i * rowsPerRegion);
+			regions[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * rowsPerRegion * rowBytes,
+					regionRows * rowBytes);
+			regions[i].order(ByteOrder.LITTLE_ENDIAN);
+			floats[i] = regions[i].asFloatBuffer();
+			for (int j = 0; j < floats[i].capacity(); j++) {
+				floats[i].put(j, Float.POSITIVE_INFINITY);
+			}
+		}
+	}
+
+	/**
+	 * constructor for a matrix in a temporary file that is deleted on close
+	 *
+	 * @param rows    number of source vertices
+	 * @param columns number of vertices
+	 * @return the matrix
+	 * @throws IOException if the file can not be created or mapped
+	 */
+	public static MappedDistanceMatrix temporary(int rows, int columns) throws IOException {
+		Path file = Files.createTempFile("distances", ".bin");
+		return new MappedDistanceMatrix(file, rows, columns, true);
+	}
+
+	/**
+	 * getter method for the file behind the matrix
+	 *
+	 * @return the file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public int rows() {
+		return rows;
+	}
+
+	@Override
+	public int columns() {
+		return columns;
+	}
+
+	@Override
+	public float get(int s, int v) {
+		return floats[s / rowsPerRegion].get((s % rowsPerRegion) * columns + v);
+	}
+
+	@Override
+	public void setRow(int s, float[] row) {
+		// a duplicate has its own position, so threads writing other rows of the
+		// same region do not get in each other's way
+		FloatBuffer region = floats[s / rowsPerRegion].duplicate();
+		region.position((s % rowsPerRegion) * columns);
+		region.put(row, 0, columns);
+	}
+
+	/**
+	 * writes the rows still in memory out to the file
+	 */
+	public void flush() {
+		for (MappedByteBuffer region : regions) {
+			region.force();
+		}
+	}
+
+	/**
+	 * flushes the rows and closes the file, a temporary file is deleted
+	 *
+	 * @throws IOException if the file can not be closed or deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!deleteOnClose) {
+			flush();
+		}
+		channel.close();
+		if (deleteOnClose) {
+			Files.deleteIfExists(file);
+		}
+	}
+}
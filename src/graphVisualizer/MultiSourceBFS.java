@@ -0,0 +1,156 @@
+package graphVisualizer;
+
+import java.util.concurrent.locks.Lock;
+import java.util.stream.IntStream;
+
+/**
+ * breadth first search from many sources at once. sources are taken in batches
+ * of 64 and every vertex keeps one long per frontier, bit i of it standing for
+ * source i of the batch. a single pass over an edge then moves all 64 searches
+ * across it, instead of repeating the traversal once per source like
+ * {@link BFSAdapter} would. batches are independent and are spread over the
+ * common fork join pool
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class MultiSourceBFS {
+
+	// number of sources searched together, one per bit of a long
+	public static final int BATCH_SIZE = Long.SIZE;
+
+	private IndexedGraphSource graph;
+	private boolean parallel = true;
+
+	/**
+	 * constructor that takes the graph to search, or a snapshot of it
+	 *
+	 * @param graph
+	 */
+	public MultiSourceBFS(IndexedGraphSource graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * setter method for whether batches run in parallel
+	 *
+	 * @param parallel {@code false} to run the batches one after another
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * getter method for whether batches run in parallel
+	 *
+	 * @return
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * hop distances between every pair of vertices, row i holds the distances
+	 * from the vertex with id i
+	 *
+	 * @return the distance matrix
+	 */
+	public HopDistanceMatrix allPairs() {
+		IndexedGraph view = graph.getIndexedView();
+		return search(view, IntStream.range(0, view.V()).toArray());
+	}
+
+	/**
+	 * hop distances from each of the given sources to every vertex
+	 *
+	 * @param sources ids of the source vertices, one row each
+	 * @return the distance matrix
+	 */
+	public HopDistanceMatrix fromSources(int[] sources) {
+		return search(graph.getIndexedView(), sources);
+	}
+
+	// searches one view of the graph, every batch reads the same view
+	private HopDistanceMatrix search(IndexedGraph view, int[] sources) {
+		int n = view.V();
+		for (int s : sources) {
+			if (s < 0 || s >= n)
+				throw new IllegalArgumentException("vertex " + s + " is not between 0 and " + (n - 1));
+		}
+
+		HopDistanceMatrix matrix = new HopDistanceMatrix(sources, n);
+		int batches = (sources.length + BATCH_SIZE - 1) / BATCH_SIZE;
+		IntStream range = IntStream.range(0, batches);
+		if (parallel) {
+			range = range.parallel();
+		}
+		Thread caller = Thread.currentThread();
+		range.forEach(b -> searchBatch(view, matrix, sources, b * BATCH_SIZE, caller));
+		return matrix;
+	}
+
+	// search from up to 64 sources starting at row first, stopping at the next
+	// level once the thread that started the search is cancelled
+	private void searchBatch(IndexedGraph view, HopDistanceMatrix matrix, int[] sources, int first,
+			Thread caller) {
+		int n = view.V();
+		int count = Math.min(BATCH_SIZE, sources.length - first);
+		long[] seen = new long[n]; // bit i of seen[v] = source i has reached v
+		long[] visit = new long[n]; // bit i of visit[v] = v is on the frontier of source i
+		long[] visitNext = new long[n]; // the frontiers of the next level
+
+		// every source starts at distance 0 from itself
+		Lock lock = matrix.entryLock();
+		matrix.ensureFits(0);
+		lock.lock();
+		try {
+			for (int i = 0; i < count; i++) {
+				int s = sources[first + i];
+				seen[s] |= 1L << i;
+				visit[s] |= 1L << i;
+				matrix.set(first + i, s, 0);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		boolean active = true;
+		for (int level = 1; active; level++) {
+			AlgorithmRunner.checkCancelled(caller);
+
+			// push every frontier bit across the out-edges of its vertex
+			for (int v = 0; v < n; v++) {
+				long bits = visit[v];
+				if (bits == 0) {
+					continue;
+				}
+				for (int e = view.outBegin(v); e < view.outEnd(v); e++) {
+					visitNext[view.target(e)] |= bits;
+				}
+			}
+
+			// keep the bits that reach a vertex for the first time, they are the
+			// vertices at this distance from their source
+			active = false;
+			for (int w = 0; w < n && !active; w++) {
+				active = (visitNext[w] & ~seen[w]) != 0;
+			}
+			if (active) {
+				matrix.ensureFits(level);
+			}
+			lock.lock();
+			try {
+				for (int w = 0; w < n; w++) {
+					long bits = visitNext[w] & ~seen[w];
+					visitNext[w] = 0;
+					visit[w] = bits;
+					seen[w] |= bits;
+					for (; bits != 0; bits &= bits - 1) {
+						matrix.set(first + Long.numberOfTrailingZeros(bits), w, level);
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package graphVisualizer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * bounded least recently used cache of shortest path trees, keyed by the
+ * algorithm, the source vertex id and the graph version the tree was built on.
+ * a tree from an older version is never returned because the version is part
+ * of the key, stale entries simply age out
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class ShortestPathCache {
+
+	public static final int DEFAULT_CAPACITY = 16;
+
+	private final LinkedHashMap<Key, ShortestPathTree> trees;
+
+	/**
+	 * constructor for an empty cache
+	 * 
+	 * @param capacity maximum number of trees kept
+	 */
+	public ShortestPathCache(int capacity) {
+		// access order makes the iteration order least recently used first
+		trees = new LinkedHashMap<Key, ShortestPathTree>(capacity * 2, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, ShortestPathTree> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * looks up a cached tree
+	 * 
+	 * @param algorithmName algorithm that built the tree
+	 * @param source        id of the source vertex
+	 * @param version       current version of the graph
+	 * @return the tree or null if it is not cached
+	 */
+	public synchronized ShortestPathTree get(String algorithmName, int source, long version) {
+		return trees.get(new Key(algorithmName, source, version));
+	}
+
+	/**
+	 * adds a tree, evicting the least recently used one when full
+	 * 
+	 * @param tree the tree to cache
+	 */
+	public synchronized void put(ShortestPathTree tree) {
+		trees.put(new Key(tree.getAlgorithmName(), tree.getSource(), tree.getVersion()), tree);
+	}
+
+	/**
+	 * removes every tree
+	 */
+	public synchronized void clear() {
+		trees.clear();
+	}
+
+	/**
+	 * returns the number of cached trees
+	 * 
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return trees.size();
+	}
+
+	// (algorithm, source, version) triple used as the map key
+	private static final class Key {
+		private final String algorithmName;
+		private final int source;
+		private final long version;
+
+		Key(String algorithmName, int source, long version) {
+			this.algorithmName = algorithmName;
+			this.source = source;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) o;
+			return source == k.source && version == k.version && algorithmName.equals(k.algorithmName);
+		}
+
+		@Override
+		public int hashCode() {
+			return (algorithmName.hashCode() * 31 + source) * 31 + Long.hashCode(version);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * result of a single source shortest path search, it answers path queries to
+ * any vertex by walking predecessors so no new search is needed
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class ShortestPathTree {
+
+	private final String algorithmName; // algorithm that built the tree
+	private final int source; // id of the source vertex
+	private final IndexedGraph view; // view of the graph the tree was built on
+	private final int[] edgeTo; // edgeTo[v] = previous vertex on the shortest s-v path
+	private final double[] distTo; // distTo[v] = length of the shortest s-v path
+
+	/**
+	 * constructor for class ShortestPathTree, the arrays are owned by the tree
+	 * afterwards and must not be changed
+	 * 
+	 * @param algorithmName algorithm that built the tree
+	 * @param source        id of the source vertex
+	 * @param view          view of the graph the tree was built on
+	 * @param edgeTo        previous vertex on each shortest path
+	 * @param distTo        shortest path lengths, infinite when unreachable
+	 */
+	public ShortestPathTree(String algorithmName, int source, IndexedGraph view, int[] edgeTo, double[] distTo) {
+		this.algorithmName = algorithmName;
+		this.source = source;
+		this.view = view;
+		this.edgeTo = edgeTo;
+		this.distTo = distTo;
+	}
+
+	/**
+	 * getter for the name of the algorithm that built the tree
+	 * 
+	 * @return the algorithm name
+	 */
+	public String getAlgorithmName() {
+		return algorithmName;
+	}
+
+	/**
+	 * getter for the source vertex id
+	 * 
+	 * @return the source id
+	 */
+	public int getSource() {
+		return source;
+	}
+
+	/**
+	 * getter for the version of the graph the tree was built on
+	 * 
+	 * @return the graph version
+	 */
+	public long getVersion() {
+		return view.getVersion();
+	}
+
+	/**
+	 * is there a path from the source to a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return whether v is reachable
+	 */
+	public boolean hasPathTo(int v) {
+		return distTo[v] != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * length of the shortest path from the source to a vertex, counted in edges
+	 * for BFS and in total weight for Dijkstra
+	 * 
+	 * @param v the vertex id
+	 * @return the distance, or infinity if v is unreachable
+	 */
+	public double distTo(int v) {
+		return distTo[v];
+	}
+
+	/**
+	 * previous vertex on the shortest path from the source to a vertex
+	 * 
+	 * @param v the vertex id, reachable and not the source
+	 * @return the id of the vertex before v
+	 */
+	public int previous(int v) {
+		return edgeTo[v];
+	}
+
+	/**
+	 * builds the shortest path from the source to a vertex
+	 * 
+	 * @param end the destination vertex
+	 * @return the vertices along the path or null if no path exists
+	 */
+	public List<Vertex> pathTo(Vertex end) {
+		int endIndex = end.getId();
+		if (!hasPathTo(endIndex)) {
+			return null;
+		}
+
+		List<Vertex> path = new ArrayList<>();
+
+		// start from the end index and work backward
+		for (int i = endIndex; i != source; i = edgeTo[i]) {
+			path.add(view.vertex(i));
+		}
+		path.add(view.vertex(source));
+
+		Collections.reverse(path);
+		return path;
+	}
+}
@@ -0,0 +1,159 @@
+package graphVisualizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * uniform grid over the plane that finds the vertex under a point without
+ * looking at every vertex. each vertex is filed in the square cell holding its
+ * center, so a lookup only checks the cells within the largest radius of the
+ * point. only cells that hold a vertex are stored
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class SpatialGrid {
+
+	public static final int DEFAULT_CELL_SIZE = 64;
+
+	private final int cellSize;
+	private final Map<Long, List<Vertex>> cells = new HashMap<>(); // packed cell -> vertices centered in it
+	private double maxRadius; // largest radius of any vertex filed so far
+
+	/**
+	 * constructor for an empty grid
+	 *
+	 * @param cellSize width and height of a cell in pixels
+	 */
+	public SpatialGrid(int cellSize) {
+		if (cellSize < 1) {
+			throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+		}
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * files a vertex at its current position
+	 *
+	 * @param v the vertex
+	 */
+	public void insert(Vertex v) {
+		cells.computeIfAbsent(cellKey(v.getX(), v.getY()), k -> new ArrayList<>()).add(v);
+		maxRadius = Math.max(maxRadius, v.getRadius());
+	}
+
+	/**
+	 * takes a vertex out of the grid
+	 *
+	 * @param v the vertex
+	 * @param x the x position it was filed at
+	 * @param y the y position it was filed at
+	 */
+	public void remove(Vertex v, int x, int y) {
+		long key = cellKey(x, y);
+		List<Vertex> cell = cells.get(key);
+		if (cell != null) {
+			cell.remove(v);
+			if (cell.isEmpty()) {
+				cells.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * finds the vertex whose circle contains a point. when circles overlap the
+	 * vertex with the lowest id wins, the one a scan of the vertex list finds first
+	 *
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return the vertex, or null if the point is not on any vertex
+	 */
+	public Vertex find(int x, int y) {
+		int reach = (int) Math.ceil(maxRadius / cellSize);
+		int cx = Math.floorDiv(x, cellSize);
+		int cy = Math.floorDiv(y, cellSize);
+		Vertex best = null;
+		for (int i = cx - reach; i <= cx + reach; i++) {
+			for (int j = cy - reach; j <= cy + reach; j++) {
+				List<Vertex> cell = cells.get(pack(i, j));
+				if (cell == null) {
+					continue;
+				}
+				for (Vertex v : cell) {
+					double dx = x - v.getX();
+					double dy = y - v.getY();
+					double r = v.getRadius();
+					if (dx * dx + dy * dy <= r * r && (best == null || v.getId() < best.getId())) {
+						best = v;
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * adds every vertex whose circle reaches into a rectangle to a list, in no
+	 * particular order. when the rectangle covers more cells than the grid holds
+	 * the stored cells are scanned instead, so a lookup never costs more than one
+	 * pass over the vertices
+	 *
+	 * @param minX   left edge of the rectangle
+	 * @param minY   top edge of the rectangle
+	 * @param maxX   right edge of the rectangle
+	 * @param maxY   bottom edge of the rectangle
+	 * @param result the list to add the vertices to
+	 */
+	public void query(double minX, double minY, double maxX, double maxY, List<Vertex> result) {
+		int cx1 = cell(minX - maxRadius);
+		int cy1 = cell(minY - maxRadius);
+		int cx2 = cell(maxX + maxRadius);
+		int cy2 = cell(maxY + maxRadius);
+		if ((cx2 - cx1 + 1L) * (cy2 - cy1 + 1L) > cells.size()) {
+			for (List<Vertex> cell : cells.values()) {
+				addOverlapping(cell, minX, minY, maxX, maxY, result);
+			}
+			return;
+		}
+		for (int i = cx1; i <= cx2; i++) {
+			for (int j = cy1; j <= cy2; j++) {
+				List<Vertex> cell = cells.get(pack(i, j));
+				if (cell != null) {
+					addOverlapping(cell, minX, minY, maxX, maxY, result);
+				}
+			}
+		}
+	}
+
+	/**
+	 * empties the grid
+	 */
+	public void clear() {
+		cells.clear();
+		maxRadius = 0;
+	}
+
+	// adds the vertices of a cell whose bounding box overlaps the rectangle
+	private static void addOverlapping(List<Vertex> cell, double minX, double minY, double maxX, double maxY,
+			List<Vertex> result) {
+		for (Vertex v : cell) {
+			double r = v.getRadius();
+			if (v.getX() + r >= minX && v.getX() - r <= maxX && v.getY() + r >= minY && v.getY() - r <= maxY) {
+				result.add(v);
+			}
+		}
+	}
+
+	private int cell(double coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	private long cellKey(int x, int y) {
+		return pack(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+	}
+
+	private static long pack(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+}
@@ -0,0 +1,279 @@
+package graphVisualizer;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * cache of small images of what the canvas draws over and over, the strings of
+ * labels and weights and the circles of vertices. a sprite is drawn once and
+ * then copied onto the screen, which is much cheaper than laying out text or
+ * antialiasing a circle every time. a sprite is kept per look and scale, and
+ * once the cache is full the sprite used least recently is dropped
+ *
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class SpriteCache {
+
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	// scales are rounded to this step so zooming back and forth finds the same
+	// sprites again
+	private static final double SCALE_STEP = 1.0 / 16;
+
+	private final Map<Key, Sprite> sprites;
+
+	// metrics
+	private long hits;
+	private long misses;
+
+	/**
+	 * constructor for an empty cache
+	 *
+	 * @param capacity how many sprites to keep at most
+	 */
+	public SpriteCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		// access order makes the first entry the one used least recently
+		this.sprites = new LinkedHashMap<Key, Sprite>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Sprite> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * returns the sprite of a string, drawing it first if it is not cached. its
+	 * origin is the start of the baseline
+	 *
+	 * @param text  the string
+	 * @param font  the font to draw it in
+	 * @param color the color to draw it in
+	 * @param scale device pixels per unit of the font size, the zoom times the
+	 *              screen scale
+	 * @return the sprite
+	 */
+	public Sprite getText(String text, Font font, Color color, double scale) {
+		double rounded = round(scale);
+		Key key = new Key(text, font, 0, null, color.getRGB(), 0, rounded);
+		Sprite sprite = lookup(key);
+		if (sprite == null) {
+			sprite = Sprite.text(text, font, color, rounded);
+			sprites.put(key, sprite);
+		}
+		return sprite;
+	}
+
+	/**
+	 * returns the sprite of a filled circle with an outline, drawing it first if
+	 * it is not cached. its origin is the center of the circle
+	 *
+	 * @param radius  radius of the circle
+	 * @param stroke  the stroke of the outline
+	 * @param fill    the color inside the circle
+	 * @param outline the color of the outline
+	 * @param scale   device pixels per unit of the radius
+	 * @return the sprite
+	 */
+	public Sprite getDisc(double radius, BasicStroke stroke, Color fill, Color outline, double scale) {
+		double rounded = round(scale);
+		Key key = new Key(null, null, radius, stroke, fill.getRGB(), outline.getRGB(), rounded);
+		Sprite sprite = lookup(key);
+		if (sprite == null) {
+			sprite = Sprite.disc(radius, stroke, fill, outline, rounded);
+			sprites.put(key, sprite);
+		}
+		return sprite;
+	}
+
+	/**
+	 * returns how many sprites are cached
+	 *
+	 * @return the number of sprites
+	 */
+	public int size() {
+		return sprites.size();
+	}
+
+	/**
+	 * returns how many lookups found their sprite already cached
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * returns how many lookups had to draw their sprite
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * drops every sprite
+	 */
+	public void clear() {
+		sprites.clear();
+	}
+
+	private Sprite lookup(Key key) {
+		Sprite sprite = sprites.get(key);
+		if (sprite != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return sprite;
+	}
+
+	private static double round(double scale) {
+		return Math.max(SCALE_STEP, Math.round(scale / SCALE_STEP) * SCALE_STEP);
+	}
+
+	/**
+	 * an image drawn at one scale, along with the device pixel in it that is
+	 * placed on the point it is drawn at
+	 */
+	public static final class Sprite {
+		private final BufferedImage image;
+		private final int originX; // device pixel of the image placed on the point
+		private final int originY;
+		private final double width; // width of what was drawn before scaling
+
+		private Sprite(BufferedImage image, int originX, int originY, double width) {
+			this.image = image;
+			this.originX = originX;
+			this.originY = originY;
+			this.width = width;
+		}
+
+		// a string with its baseline starting at the origin
+		private static Sprite text(String text, Font font, Color color, double scale) {
+			FontRenderContext frc = new FontRenderContext(AffineTransform.getScaleInstance(scale, scale), true,
+					false);
+			Rectangle bounds = font.createGlyphVector(frc, text).getPixelBounds(frc, 0, 0);
+
+			// a pixel of room on each side for the antialiased edges
+			int originX = 1 - bounds.x;
+			int originY = 1 - bounds.y;
+			BufferedImage image = new BufferedImage(Math.max(1, bounds.width + 2), Math.max(1, bounds.height + 2),
+					BufferedImage.TYPE_INT_ARGB_PRE);
+			Graphics2D g2d = image.createGraphics();
+			try {
+				g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+				g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+				g2d.setFont(font);
+				g2d.setColor(color);
+				g2d.translate(originX, originY);
+				g2d.scale(scale, scale);
+				g2d.drawString(text, 0, 0);
+			} finally {
+				g2d.dispose();
+			}
+			return new Sprite(image, originX, originY, font.getStringBounds(text, frc).getWidth());
+		}
+
+		// a circle centered on the origin
+		private static Sprite disc(double radius, BasicStroke stroke, Color fill, Color outline, double scale) {
+			double reach = radius + stroke.getLineWidth() / 2;
+			int origin = (int) Math.ceil(reach * scale) + 1;
+			BufferedImage image = new BufferedImage(2 * origin + 1, 2 * origin + 1, BufferedImage.TYPE_INT_ARGB_PRE);
+			Graphics2D g2d = image.createGraphics();
+			try {
+				g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+				g2d.translate(origin, origin);
+				g2d.scale(scale, scale);
+				Ellipse2D circle = new Ellipse2D.Double(-radius, -radius, 2 * radius, 2 * radius);
+				g2d.setColor(fill);
+				g2d.fill(circle);
+				g2d.setStroke(stroke);
+				g2d.setColor(outline);
+				g2d.draw(circle);
+			} finally {
+				g2d.dispose();
+			}
+			return new Sprite(image, origin, origin, 2 * radius);
+		}
+
+		/**
+		 * getter method for the width of what was drawn before scaling, the advance
+		 * of a string or the diameter of a circle
+		 *
+		 * @return the width
+		 */
+		public double getWidth() {
+			return width;
+		}
+
+		/**
+		 * copies the sprite so its origin lands on a device pixel. the graphics
+		 * context must be in device pixels, with no scaling
+		 *
+		 * @param g2d the graphics context
+		 * @param x   x position of the origin
+		 * @param y   y position of the origin
+		 */
+		public void draw(Graphics2D g2d, double x, double y) {
+			g2d.drawImage(image, (int) Math.round(x) - originX, (int) Math.round(y) - originY, null);
+		}
+	}
+
+	// what a sprite is cached under, strings have a text and font and circles a
+	// radius and stroke
+	private static final class Key {
+		private final String text;
+		private final Font font;
+		private final double radius;
+		private final BasicStroke stroke;
+		private final int color;
+		private final int outline;
+		private final double scale;
+		private final int hash;
+
+		Key(String text, Font font, double radius, BasicStroke stroke, int color, int outline, double scale) {
+			this.text = text;
+			this.font = font;
+			this.radius = radius;
+			this.stroke = stroke;
+			this.color = color;
+			this.outline = outline;
+			this.scale = scale;
+			this.hash = Objects.hash(text, font, radius, stroke, color, outline, scale);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return color == other.color && outline == other.outline && radius == other.radius
+					&& scale == other.scale && Objects.equals(text, other.text) && Objects.equals(font, other.font)
+					&& Objects.equals(stroke, other.stroke);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package graphVisualizer;
+
+import java.util.Arrays;
+
+/**
+ * splits a graph into strongly connected components with an iterative version
+ * of Tarjan's algorithm in O(V + E). every cycle lies inside one component, and
+ * for an undirected graph the components are the connected components.
+ * 
+ * components are numbered by their smallest vertex id, so component 0 holds
+ * vertex 0, and the members of each component are listed in ascending id order
+ * 
+ * @author Lincoln Bunker & Carson Emery
+ */
+public class StronglyConnectedComponents {
+
+	private final IndexedGraph view;
+	private final int[] id; // id[v] = component of vertex v
+	private final int count; // number of components
+	private final int[] memberStart; // members of component c are in memberStart[c] until memberStart[c + 1]
+	private final int[] members; // vertex ids grouped by component
+	private CondensationDAG condensation; // built on first use
+
+	/**
+	 * computes the components of a graph
+	 * 
+	 * @param view id-based view of the graph
+	 */
+	public StronglyConnectedComponents(IndexedGraph view) {
+		this.view = view;
+		int n = view.V();
+		int[] tarjanId = new int[n]; // component number in the order Tarjan finishes them
+		int tarjanCount = tarjan(tarjanId);
+
+		// renumber by smallest member, which is the first member seen in id order
+		int[] renumber = new int[tarjanCount];
+		Arrays.fill(renumber, -1);
+		id = new int[n];
+		int next = 0;
+		for (int v = 0; v < n; v++) {
+			if (renumber[tarjanId[v]] == -1) {
+				renumber[tarjanId[v]] = next++;
+			}
+			id[v] = renumber[tarjanId[v]];
+		}
+		count = tarjanCount;
+
+		// group the members by component with a counting sort, which keeps them in
+		// ascending id order
+		memberStart = new int[count + 1];
+		for (int v = 0; v < n; v++) {
+			memberStart[id[v] + 1]++;
+		}
+		for (int c = 0; c < count; c++) {
+			memberStart[c + 1] += memberStart[c];
+		}
+		members = new int[n];
+		int[] fill = new int[count];
+		for (int v = 0; v < n; v++) {
+			int c = id[v];
+			members[memberStart[c] + fill[c]++] = v;
+		}
+	}
+
+	// iterative Tarjan, returns the number of components
+	private int tarjan(int[] component) {
+		int n = view.V();
+		int[] index = new int[n]; // discovery order plus one, 0 = not visited yet
+		int[] low = new int[n]; // smallest index reachable from the subtree of v
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n]; // vertices not yet assigned a component
+		int[] call = new int[n]; // vertices on the current DFS path
+		int[] next = new int[n]; // next outgoing slot of each vertex on the path
+		int top = 0;
+		int counter = 0;
+		int components = 0;
+
+		for (int root = 0; root < n; root++) {
+			if (index[root] != 0) {
+				continue;
+			}
+			int depth = 0;
+			call[depth] = root;
+			index[root] = low[root] = ++counter;
+			stack[top++] = root;
+			onStack[root] = true;
+			next[root] = view.outBegin(root);
+
+			while (depth >= 0) {
+				int v = call[depth];
+				if (next[v] < view.outEnd(v)) {
+					int w = view.target(next[v]++);
+					if (index[w] == 0) {
+						index[w] = low[w] = ++counter;
+						stack[top++] = w;
+						onStack[w] = true;
+						next[w] = view.outBegin(w);
+						call[++depth] = w;
+					} else if (onStack[w]) {
+						low[v] = Math.min(low[v], index[w]);
+					}
+				} else {
+					// v is the root of a component, pop its members
+					if (low[v] == index[v]) {
+						int w;
+						do {
+							w = stack[--top];
+							onStack[w] = false;
+							component[w] = components;
+						} while (w != v);
+						components++;
+					}
+					depth--;
+					if (depth >= 0) {
+						int parent = call[depth];
+						low[parent] = Math.min(low[parent], low[v]);
+					}
+				}
+			}
+		}
+		return components;
+	}
+
+	/**
+	 * returns the number of components
+	 * 
+	 * @return the component count
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * component of a vertex
+	 * 
+	 * @param v the vertex id
+	 * @return the component number
+	 */
+	public int id(int v) {
+		return id[v];
+	}
+
+	/**
+	 * number of vertices in a component
+	 * 
+	 * @param c the component number
+	 * @return the component size
+	 */
+	public int size(int c) {
+		return memberStart[c + 1] - memberStart[c];
+	}
+
+	/**
+	 * first member slot of a component
+	 * 
+	 * @param c the component number
+	 * @return the first slot
+	 */
+	public int memberBegin(int c) {
+		return memberStart[c];
+	}
+
+	/**
+	 * one past the last member slot of a component
+	 * 
+	 * @param c the component number
+	 * @return the end slot
+	 */
+	public int memberEnd(int c) {
+		return memberStart[c + 1];
+	}
+
+	/**
+	 * vertex id in a member slot
+	 * 
+	 * @param i the member slot
+	 * @return the vertex id
+	 */
+	public int member(int i) {
+		return members[i];
+	}
+
+	/**
+	 * are two vertices in the same component
+	 * 
+	 * @param v a vertex id
+	 * @param w another vertex id
+	 * @return whether v and w can reach each other
+	 */
+	public boolean stronglyConnected(int v, int w) {
+		return id[v] == id[w];
+	}
+
+	/**
+	 * gets the condensation of the graph, built on first use
+	 * 
+	 * @return the DAG of components
+	 */
+	public CondensationDAG condensation() {
+		if (condensation == null) {
+			condensation = new CondensationDAG(view, this);
+		}
+		return condensation;
+	}
+}
@@ -13,6 +13,8 @@ public class Vertex {
 	private int value; // label of what the vertex will be
 	private double radius; // radius of a vertex, helps for proximity calculations and connecting via
 							// edges,
+	private int id = -1; // id assigned by the graph that owns this vertex, -1 until added
+	private Graph graph; // graph this vertex belongs to, told when it moves
 
 	/**
 	 * constructor for class vertex instantiates all fields
@@ -54,6 +56,9 @@ public class Vertex {
 		try {
 			this.value = Integer.parseInt(label);
 			this.label = label;
+			if (graph != null) {
+				graph.vertexMoved(this, x, y);
+			}
 		} catch (NumberFormatException e) {
 			throw new IllegalArgumentException("Vertex must be a valid integer");
 		}
@@ -92,7 +97,11 @@ public class Vertex {
 	 * @param x the inputted x coordinate
 	 */
 	public void setX(int x) {
+		int oldX = this.x;
 		this.x = x;
+		if (graph != null) {
+			graph.vertexMoved(this, oldX, y);
+		}
 	}
 
 	/**
@@ -101,7 +110,11 @@ public class Vertex {
 	 * @param y the inputted y coordinate
 	 */
 	public void setY(int y) {
+		int oldY = this.y;
 		this.y = y;
+		if (graph != null) {
+			graph.vertexMoved(this, x, oldY);
+		}
 	}
 
 	/**
@@ -112,6 +125,9 @@ public class Vertex {
 	public void setValue(int value) {
 		this.value = value;
 		this.label = String.valueOf(value);
+		if (graph != null) {
+			graph.vertexMoved(this, x, y);
+		}
 	}
 
 	/**
@@ -130,5 +146,46 @@ public class Vertex {
 	 */
 	public void setRadius(double radius) {
 		this.radius = radius;
+		if (graph != null) {
+			graph.vertexMoved(this, x, y);
+		}
+	}
+
+	/**
+	 * getter method for the id the owning graph assigned to this vertex
+	 * 
+	 * @return the id, or -1 if the vertex has not been added to a graph
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * setter method for the id, only the owning graph should call this
+	 * 
+	 * @param id the id to assign
+	 */
+	void setId(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * sets the graph this vertex belongs to, only the graph should call this
+	 * 
+	 * @param graph the owning graph, or null once removed
+	 */
+	void setGraph(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * moves the vertex without telling its graph, only the graph should call this
+	 * 
+	 * @param x the new x position
+	 * @param y the new y position
+	 */
+	void setPosition(int x, int y) {
+		this.x = x;
+		this.y = y;
 	}
 }